@@ -1,6 +1,7 @@
 package com.influmatch.auth.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,4 +35,7 @@ public class AuthResponse {
 
     @Schema(description = "URL de la foto de perfil del usuario", example = "https://example.com/photos/user123.jpg", required = false)
     private String photoUrl;
+
+    @Schema(description = "Referencia a la foto de perfil (solo en modo de medios 'reference')")
+    private MediaRefDto photoMedia;
 } 
\ No newline at end of file
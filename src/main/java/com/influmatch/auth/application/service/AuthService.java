@@ -13,7 +13,7 @@ import com.influmatch.profile.domain.model.entity.BrandProfile;
 import com.influmatch.profile.domain.model.entity.InfluencerProfile;
 import com.influmatch.profile.domain.repository.BrandProfileRepository;
 import com.influmatch.profile.domain.repository.InfluencerProfileRepository;
-import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.application.service.MediaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;import org.springframework.stereotype.Service;
@@ -28,7 +28,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final BrandProfileRepository brandProfileRepository;
     private final InfluencerProfileRepository influencerProfileRepository;
-    private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -74,31 +74,25 @@ public class AuthService {
 
         boolean hasProfile = false;
         String name = null;
-        String photoUrl = null;
+        String photoPath = null;
 
         if (user.getRole() == UserRole.INFLUENCER) {
             hasProfile = influencerProfileRepository.existsByUserId(user.getId());
             if (hasProfile) {
                 var profile = influencerProfileRepository.findByUserId(user.getId());
                 name = profile.get().getName();
-                String photoPath = profile.get().getProfilePhotoUrl() != null ? 
+                photoPath = profile.get().getProfilePhotoUrl() != null ? 
                     profile.get().getProfilePhotoUrl() : 
                     profile.get().getPhotoUrl();
-                if (photoPath != null) {
-                    photoUrl = fileStorageService.readFileAsBase64(photoPath);
-                }
             }
         } else if (user.getRole() == UserRole.BRAND) {
             hasProfile = brandProfileRepository.existsByUserId(user.getId());
             if (hasProfile) {
                 var profile = brandProfileRepository.findByUserId(user.getId());
                 name = profile.get().getName();
-                String photoPath = profile.get().getProfilePhotoUrl() != null ? 
+                photoPath = profile.get().getProfilePhotoUrl() != null ? 
                     profile.get().getProfilePhotoUrl() : 
                     profile.get().getLogoUrl();
-                if (photoPath != null) {
-                    photoUrl = fileStorageService.readFileAsBase64(photoPath);
-                }
             }
         }
 
@@ -109,7 +103,8 @@ public class AuthService {
                 .userId(user.getId())
                 .profileType(user.getRole().toString())
                 .name(name)
-                .photoUrl(photoUrl)
+                .photoUrl(mediaService.resolve(photoPath))
+                .photoMedia(mediaService.describe(photoPath))
                 .build();
     }
 
@@ -126,30 +121,24 @@ public class AuthService {
         String newRefreshToken = jwtService.generateRefreshToken(user);
 
         // Get profile photo based on user role
-        String photoBase64 = null;
+        String photoPath = null;
         switch (user.getRole()) {
             case BRAND -> {
                 BrandProfile profile = brandProfileRepository.findByUserId(user.getId())
                         .orElse(null);
                 if (profile != null) {
-                    String photoUrl = profile.getProfilePhotoUrl() != null ? 
+                    photoPath = profile.getProfilePhotoUrl() != null ? 
                                     profile.getProfilePhotoUrl() : 
                                     profile.getLogoUrl();
-                    if (photoUrl != null) {
-                        photoBase64 = fileStorageService.readFileAsBase64(photoUrl);
-                    }
                 }
             }
             case INFLUENCER -> {
                 InfluencerProfile profile = influencerProfileRepository.findByUserId(user.getId())
                         .orElse(null);
                 if (profile != null) {
-                    String photoUrl = profile.getProfilePhotoUrl() != null ? 
+                    photoPath = profile.getProfilePhotoUrl() != null ? 
                                     profile.getProfilePhotoUrl() : 
                                     profile.getPhotoUrl();
-                    if (photoUrl != null) {
-                        photoBase64 = fileStorageService.readFileAsBase64(photoUrl);
-                    }
                 }
             }
         }
@@ -160,7 +149,8 @@ public class AuthService {
                 .profileCompleted(user.isProfileCompleted())
                 .userId(user.getId())
                 .profileType(user.getRole().toString())
-                .photoUrl(photoBase64)
+                .photoUrl(mediaService.resolve(photoPath))
+                .photoMedia(mediaService.describe(photoPath))
                 .build();
     }
 
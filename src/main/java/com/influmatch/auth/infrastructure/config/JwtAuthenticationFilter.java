@@ -22,6 +22,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
 
+    /**
+     * Las URLs firmadas de /media se validan solas; no hace falta cargar el usuario.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getServletPath().startsWith("/media/");
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -37,8 +37,12 @@ public class SecurityConfig {
             .httpBasic(AbstractHttpConfigurer::disable)
             .formLogin(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Bytes de archivos: con sesión y permiso por archivo (FileController); sin sesión, /media firmado
+                .requestMatchers("/api/files/**").authenticated()
                 .requestMatchers(
                     "/api/**",
+                    "/media/**",
+                    "/ws/**",
                     "/v3/api-docs/**",
                     "/swagger-ui/**",
                     "/swagger-ui.html"
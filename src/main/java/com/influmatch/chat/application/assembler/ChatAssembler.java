@@ -19,10 +19,10 @@ public class ChatAssembler {
                         .name("") // To be filled by user service
                         .photoUrl("") // To be filled by user service
                         .build())
-                .lastMessage(chat.getLastMessage() != null ? 
+                .lastMessage(chat.getLastMessageId() != null ?
                         LastMessageDto.builder()
-                                .content(chat.getLastMessage().getContent())
-                                .createdAt(chat.getLastMessage().getCreatedAt())
+                                .content(chat.getLastMessagePreview())
+                                .createdAt(chat.getLastActivityAt())
                                 .build() : null)
                 .unreadCount(chat.getUnreadCount())
                 .build();
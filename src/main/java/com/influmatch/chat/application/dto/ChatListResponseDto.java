@@ -1,5 +1,7 @@
 package com.influmatch.chat.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,8 +44,12 @@ public class ChatListResponseDto {
         @Schema(description = "Name of the interlocutor", example = "AnaFit")
         private String name;
         
-        @Schema(description = "Profile photo in base64 format", example = "data:image/jpeg;base64,/9j/4AAQ...")
+        @Schema(description = "Profile photo: base64 (inline) or file URL (reference)")
         private String photoBase64;
+
+        @Schema(description = "Reference to the profile photo (only in 'reference' media mode)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private MediaRefDto photoMedia;
     }
 
     @Data
@@ -52,7 +58,10 @@ public class ChatListResponseDto {
     @AllArgsConstructor
     @Schema(description = "Last message information")
     public static class LastMessageInfo {
-        @Schema(description = "Content of the message", example = "Hello!")
+        @Schema(description = "ID of the message", example = "789")
+        private Long messageId;
+
+        @Schema(description = "Content of the message, truncated to 140 characters", example = "Hello!")
         private String content;
         
         @Schema(description = "When the message was sent")
@@ -1,5 +1,7 @@
 package com.influmatch.chat.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,9 +20,20 @@ public class ChatMessagesResponseDto {
     @Schema(description = "Information about the interlocutor")
     private InterlocutorInfo interlocutor;
     
-    @Schema(description = "List of messages in the chat")
+    @Schema(description = "Page of messages in the chat, newest first")
     private List<MessageDetailDto> messages;
 
+    @Schema(description = "Cursor of the oldest message in the page; pass it as 'before' to load older messages. " +
+            "Null when there are no older messages", example = "MTc1MDAwMDAwMDAwMDAwMDo3ODk")
+    private String beforeCursor;
+
+    @Schema(description = "Cursor of the newest message in the page; pass it as 'after' to load newer messages",
+            example = "MTc1MDAwMDAwMDAwMDAwMDo3OTk")
+    private String afterCursor;
+
+    @Schema(description = "Whether more messages exist in the requested direction", example = "true")
+    private Boolean hasMore;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -33,7 +46,11 @@ public class ChatMessagesResponseDto {
         @Schema(description = "Name of the interlocutor", example = "Carlos Tech")
         private String name;
         
-        @Schema(description = "Photo of the interlocutor in base64", example = "data:image/jpeg;base64,/9j/4AAQ...")
+        @Schema(description = "Photo of the interlocutor: base64 (inline) or file URL (reference)")
         private String photoBase64;
+
+        @Schema(description = "Reference to the interlocutor photo (only in 'reference' media mode)")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private MediaRefDto photoMedia;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.influmatch.chat.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Chat changes since a sync token")
+public class ChatSyncResponseDto {
+
+    @Schema(description = "Chats whose last message, last activity or unread count changed, in their current state")
+    private List<ChatListResponseDto> chats;
+
+    @Schema(description = "Messages sent or received since the token, oldest change first. " +
+            "A message may be repeated across syncs; clients should upsert by messageId")
+    private List<MessageDetailDto> messages;
+
+    @Schema(description = "Token to pass as 'since' on the next sync", example = "czE6MTIzNDU")
+    private String nextToken;
+
+    @Schema(description = "Whether more changes are pending; sync again right away with nextToken", example = "false")
+    private Boolean hasMore;
+}
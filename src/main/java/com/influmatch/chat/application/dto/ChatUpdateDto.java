@@ -0,0 +1,29 @@
+package com.influmatch.chat.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Chat list change pushed over WebSocket to /user/queue/chats; absent fields are unchanged")
+public class ChatUpdateDto {
+
+    @Schema(description = "Unique identifier of the chat", example = "123")
+    private Long chatId;
+
+    @Schema(description = "Unique identifier of the interlocutor", example = "42")
+    private Long interlocutorId;
+
+    @Schema(description = "New last message of the chat")
+    private ChatListResponseDto.LastMessageInfo lastMessage;
+
+    @Schema(description = "New number of unread messages", example = "5")
+    private Integer unreadCount;
+}
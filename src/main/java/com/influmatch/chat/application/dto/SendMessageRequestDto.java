@@ -1,6 +1,9 @@
 package com.influmatch.chat.application.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.influmatch.chat.domain.model.valueobject.AttachmentType;
+import com.influmatch.chat.infrastructure.storage.Base64AttachmentDeserializer;
+import com.influmatch.shared.infrastructure.storage.StagedContent;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -10,8 +13,10 @@ public class SendMessageRequestDto {
     @Schema(description = "Text content of the message", example = "Hola, ¿cómo estás?")
     private String content;
 
-    @Schema(description = "Base64 encoded file content", example = "iVBORw0KGgo...")
-    private String attachmentBase64;
+    // Decoded while the request body is read; the service only sees the staged file
+    @Schema(description = "Base64 encoded file content", type = "string", format = "byte", example = "iVBORw0KGgo...")
+    @JsonDeserialize(using = Base64AttachmentDeserializer.class)
+    private StagedContent attachmentBase64;
 
     @Schema(description = "Type of attachment (PHOTO, VIDEO, DOCUMENT)")
     private AttachmentType attachmentType;
@@ -0,0 +1,17 @@
+package com.influmatch.chat.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Total unread messages for the badge")
+public class UnreadCountDto {
+    @Schema(description = "Unread messages across all chats", example = "7")
+    private long total;
+}
@@ -2,13 +2,19 @@ package com.influmatch.chat.application.service;
 
 import com.influmatch.chat.application.dto.ChatListResponseDto;
 import com.influmatch.chat.application.dto.ChatMessagesResponseDto;
+import com.influmatch.chat.application.dto.ChatSyncResponseDto;
 import com.influmatch.chat.application.dto.MessageResponseDto;
 import com.influmatch.chat.application.dto.SendMessageRequestDto;
+import com.influmatch.chat.application.dto.UnreadCountDto;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
 public interface ChatService {
     List<ChatListResponseDto> listChats();
     MessageResponseDto sendMessage(Long receiverId, SendMessageRequestDto request);
-    ChatMessagesResponseDto getChatMessages(Long userId);
+    MessageResponseDto sendMessage(Long receiverId, String content, MultipartFile attachment);
+    ChatMessagesResponseDto getChatMessages(Long userId, String before, String after, Integer limit);
+    ChatSyncResponseDto sync(String since, Integer limit);
+    UnreadCountDto getUnreadCount();
 } 
\ No newline at end of file
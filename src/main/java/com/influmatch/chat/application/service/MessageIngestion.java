@@ -0,0 +1,21 @@
+package com.influmatch.chat.application.service;
+
+import com.influmatch.chat.domain.model.entity.Message;
+
+/**
+ * Write path of a sent message: resolves the conversation, stores the message, updates the chat rows
+ * of both participants and publishes the {@link com.influmatch.chat.domain.model.event.MessageSentEvent}.
+ * Selected with {@code application.chat.ingestion.mode}.
+ * <p>
+ * Callers must not hold a transaction: implementations commit on their own and only return once the
+ * message is durable.
+ */
+public interface MessageIngestion {
+    String name();
+
+    /**
+     * @param message message without id or chat id
+     * @return the stored message, with id and chat id
+     */
+    Message ingest(Message message);
+}
@@ -0,0 +1,105 @@
+package com.influmatch.chat.application.service;
+
+import com.influmatch.chat.domain.model.event.ChatReadEvent;
+import com.influmatch.chat.domain.model.event.MessageSentEvent;
+import com.influmatch.chat.domain.model.repository.ChatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user total of unread messages, kept in memory so the badge endpoint does not touch the database.
+ * <p>
+ * The chat rows stay the source of truth: a user's counter is loaded from them on first use, then moved
+ * by the committed send/read events of this node. Counters touched since the last pass are re-read in the
+ * background, which settles the races between an event and a load, and any counter older than
+ * {@code max-staleness} is re-read on access, which picks up changes made through other nodes.
+ */
+@Slf4j
+@Service
+public class UnreadCounterService {
+    private final ChatRepository chatRepository;
+    private final long maxStalenessNanos;
+    private final long idleTtlNanos;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public UnreadCounterService(ChatRepository chatRepository,
+                                @Value("${application.chat.unread.max-staleness}") Duration maxStaleness,
+                                @Value("${application.chat.unread.idle-ttl}") Duration idleTtl) {
+        this.chatRepository = chatRepository;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.idleTtlNanos = idleTtl.toNanos();
+    }
+
+    public long getTotalUnread(Long userId) {
+        long now = System.nanoTime();
+        Counter counter = counters.get(userId);
+        if (counter == null || now - counter.loadedAt > maxStalenessNanos) {
+            counter = load(userId);
+        }
+        counter.lastReadAt = now;
+        return Math.max(0, counter.total.sum());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        add(event.message().getReceiverId(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatRead(ChatReadEvent event) {
+        add(event.userId(), -event.clearedCount());
+    }
+
+    @Scheduled(fixedDelayString = "${application.chat.unread.reconcile-interval-ms}")
+    public void reconcile() {
+        long now = System.nanoTime();
+        counters.entrySet().removeIf(entry -> now - entry.getValue().lastReadAt > idleTtlNanos);
+
+        for (Long userId : dirty) {
+            dirty.remove(userId);
+            if (!counters.containsKey(userId)) {
+                continue;
+            }
+            try {
+                load(userId);
+            } catch (RuntimeException e) {
+                dirty.add(userId);
+                log.warn("Could not reconcile unread counter for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private void add(Long userId, long delta) {
+        // Users without a counter get the change from the database on their first read
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.total.add(delta);
+            dirty.add(userId);
+        }
+    }
+
+    private Counter load(Long userId) {
+        Counter counter = new Counter(chatRepository.sumUnreadCount(userId));
+        counters.put(userId, counter);
+        return counter;
+    }
+
+    private static class Counter {
+        final LongAdder total = new LongAdder();
+        final long loadedAt = System.nanoTime();
+        volatile long lastReadAt = loadedAt;
+
+        Counter(long initial) {
+            total.add(initial);
+        }
+    }
+}
@@ -5,28 +5,45 @@ import com.influmatch.auth.domain.model.UserRole;
 import com.influmatch.auth.domain.repository.UserRepository;
 import com.influmatch.chat.application.dto.ChatListResponseDto;
 import com.influmatch.chat.application.dto.ChatMessagesResponseDto;
+import com.influmatch.chat.application.dto.ChatSyncResponseDto;
 import com.influmatch.chat.application.dto.MessageDetailDto;
 import com.influmatch.chat.application.dto.MessageResponseDto;
 import com.influmatch.chat.application.dto.SendMessageRequestDto;
+import com.influmatch.chat.application.dto.UnreadCountDto;
 import com.influmatch.chat.application.service.ChatService;
+import com.influmatch.chat.application.service.MessageIngestion;
+import com.influmatch.chat.application.service.UnreadCounterService;
 import com.influmatch.chat.domain.model.entity.Chat;
 import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.event.ChatReadEvent;
+import com.influmatch.chat.domain.model.exception.InvalidCursorException;
 import com.influmatch.chat.domain.model.repository.ChatRepository;
 import com.influmatch.chat.domain.model.valueobject.AttachmentType;
-import com.influmatch.chat.infrastructure.storage.FileStorageService;
+import com.influmatch.chat.domain.model.valueobject.InboxEntry;
+import com.influmatch.chat.domain.model.valueobject.MessageCursor;
+import com.influmatch.chat.domain.model.valueobject.SyncToken;
+import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.application.service.MediaBatch;
+import com.influmatch.profile.application.service.MediaService;
 import com.influmatch.profile.domain.model.entity.BrandProfile;
 import com.influmatch.profile.domain.model.entity.InfluencerProfile;
 import com.influmatch.profile.domain.repository.BrandProfileRepository;
 import com.influmatch.profile.domain.repository.InfluencerProfileRepository;
 import com.influmatch.shared.infrastructure.security.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,74 +52,94 @@ public class ChatServiceImpl implements ChatService {
 
     private final ChatRepository chatRepository;
     private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
     private final SecurityUtils securityUtils;
     private final UserRepository userRepository;
     private final BrandProfileRepository brandProfileRepository;
     private final InfluencerProfileRepository influencerProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounterService unreadCounterService;
+    private final MessageIngestion messageIngestion;
+
+    @Value("${application.chat.attachments.max-size}")
+    private DataSize maxAttachmentSize;
+
+    @Value("${application.chat.messages.default-page-size}")
+    private int defaultPageSize;
+
+    @Value("${application.chat.messages.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${application.chat.sync.max-messages}")
+    private int maxSyncMessages;
+
+    @Value("${application.chat.sync.settle-window}")
+    private Duration settleWindow;
 
     @Override
     @Transactional(readOnly = true)
     public List<ChatListResponseDto> listChats() {
         Long userId = securityUtils.getCurrentUserId();
-        return chatRepository.findChatsByUserId(userId).stream()
-                .map(this::toChatListResponseDto)
+        // Chats and interlocutors in one query, then all the photos in one batch
+        List<InboxEntry> inbox = chatRepository.findInboxByUserId(userId);
+        MediaBatch photos = mediaService.thumbnails(inbox.stream()
+                .map(InboxEntry::getInterlocutorPhotoFileId)
+                .collect(Collectors.toList()));
+
+        return inbox.stream()
+                .map(entry -> toChatListResponseDto(entry, photos))
                 .collect(Collectors.toList());
     }
 
+    // Not transactional: the attachment is stored on its own and the message ingestion commits itself
     @Override
-    @Transactional
     public MessageResponseDto sendMessage(Long receiverId, SendMessageRequestDto request) {
         Long senderId = securityUtils.getCurrentUserId();
-        
-        // Find existing chat or create a new one
-        Chat chat = findOrCreateChat(senderId, receiverId);
 
         String attachmentUrl = null;
         if (request.getAttachmentBase64() != null && request.getAttachmentType() != null) {
-            // Validate base64 string
-            String base64Data = request.getAttachmentBase64().trim();
-            if (!isValidBase64(base64Data)) {
-                throw new IllegalArgumentException("Invalid base64 format for attachment");
-            }
+            String mimeType = getMimeType(request.getAttachmentType());
+            attachmentUrl = fileStorageService.storeStaged(request.getAttachmentBase64(), mimeType);
+        }
+
+        return saveMessage(senderId, receiverId, request.getContent(), attachmentUrl);
+    }
 
-            try {
-                byte[] fileBytes = Base64.getDecoder().decode(base64Data);
-                String mimeType = getMimeType(request.getAttachmentType());
-                attachmentUrl = fileStorageService.storeFile(fileBytes, mimeType);
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Failed to decode base64 attachment: " + e.getMessage());
+    @Override
+    public MessageResponseDto sendMessage(Long receiverId, String content, MultipartFile attachment) {
+        Long senderId = securityUtils.getCurrentUserId();
+
+        String attachmentUrl = null;
+        if (attachment != null && !attachment.isEmpty()) {
+            // The multipart limit is shared with profile uploads; chat attachments have their own
+            if (attachment.getSize() > maxAttachmentSize.toBytes()) {
+                throw new MaxUploadSizeExceededException(maxAttachmentSize.toBytes());
             }
+            // Type comes from the file name and is checked against the content while streaming
+            attachmentUrl = fileStorageService.storeFile(attachment);
         }
 
+        return saveMessage(senderId, receiverId, content, attachmentUrl);
+    }
+
+    private MessageResponseDto saveMessage(Long senderId, Long receiverId, String content, String attachmentUrl) {
         Message message = Message.builder()
-                .chatId(chat.getChatId())
                 .senderId(senderId)
                 .receiverId(receiverId)
-                .content(request.getContent())
+                .content(content)
                 .attachmentUrl(attachmentUrl)
                 .createdAt(Instant.now())
                 .build();
 
-        message = chatRepository.saveMessage(message);
-
-        // Increment unread count for the receiver
-        chatRepository.updateUnreadCount(chat.getChatId(), receiverId, chat.getUnreadCount() + 1);
-
-        return toMessageResponseDto(message);
-    }
-
-    private boolean isValidBase64(String base64String) {
-        if (base64String == null || base64String.isEmpty()) {
-            return false;
+        Message saved;
+        try {
+            saved = messageIngestion.ingest(message);
+        } catch (RuntimeException e) {
+            // The attachment was stored with a reference for this message; without the message nothing holds it
+            fileStorageService.release(attachmentUrl);
+            throw e;
         }
-
-        // Check if length is valid (must be multiple of 4)
-        if (base64String.length() % 4 != 0) {
-            return false;
-        }
-
-        // Check if string contains only valid base64 characters
-        return base64String.matches("^[A-Za-z0-9+/]*={0,2}$");
+        return toMessageResponseDto(saved);
     }
 
     private String getMimeType(AttachmentType type) {
@@ -115,131 +152,174 @@ public class ChatServiceImpl implements ChatService {
 
     @Override
     @Transactional
-    public ChatMessagesResponseDto getChatMessages(Long userId) {
+    public ChatMessagesResponseDto getChatMessages(Long userId, String before, String after, Integer limit) {
+        if (before != null && after != null) {
+            throw new InvalidCursorException("Only one of 'before' and 'after' can be given");
+        }
+        MessageCursor beforeCursor = before != null ? MessageCursor.decode(before) : null;
+        MessageCursor afterCursor = after != null ? MessageCursor.decode(after) : null;
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
         Long currentUserId = securityUtils.getCurrentUserId();
         
         // Find the chat between current user and the specified user, or create one if it doesn't exist
-        Chat chat = chatRepository.findChatsByUserId(currentUserId).stream()
-                .filter(c -> c.getInterlocutorId().equals(userId))
-                .findFirst()
-                .orElseGet(() -> {
-                    // Create a new chat if none exists (similar to sendMessage behavior)
-                    Chat newChat = Chat.builder()
-                            .userId(currentUserId)
-                            .interlocutorId(userId)
-                            .unreadCount(0)
-                            .build();
-                    return chatRepository.save(newChat);
-                });
+        Chat chat = chatRepository.findOrCreateChat(currentUserId, userId);
 
         // Reset unread count for the current user
         if (chat.getUnreadCount() > 0) {
             chatRepository.updateUnreadCount(chat.getChatId(), currentUserId, 0);
+            eventPublisher.publishEvent(new ChatReadEvent(currentUserId, chat.getChatId(), userId, chat.getUnreadCount()));
         }
 
         // Get interlocutor information
-        User interlocutor = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Interlocutor not found"));
+        Interlocutor interlocutor = findInterlocutor(userId);
+        String interlocutorName = interlocutor.name();
+        String interlocutorPhotoUrl = interlocutor.photoFileId();
 
-        String interlocutorName;
-        String interlocutorPhotoUrl;
 
-        if (interlocutor.getRole() == UserRole.BRAND) {
-            BrandProfile profile = brandProfileRepository.findByUserId(userId)
-                    .orElseThrow(() -> new RuntimeException("Brand profile not found"));
-            interlocutorName = profile.getName();
-            interlocutorPhotoUrl = profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getLogoUrl();
+        // One extra row tells whether there is another page in the same direction
+        List<Message> page;
+        if (afterCursor != null) {
+            page = new ArrayList<>(chatRepository.findMessagesAfter(chat.getChatId(), afterCursor, pageSize + 1));
         } else {
-            InfluencerProfile profile = influencerProfileRepository.findByUserId(userId)
-                    .orElseThrow(() -> new RuntimeException("Influencer profile not found"));
-            interlocutorName = profile.getName();
-            interlocutorPhotoUrl = profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getPhotoUrl();
+            page = new ArrayList<>(chatRepository.findMessagesBefore(chat.getChatId(), beforeCursor, pageSize + 1));
         }
-
-        String interlocutorPhotoBase64 = null;
-        if (interlocutorPhotoUrl != null) {
-            interlocutorPhotoBase64 = fileStorageService.readFileAsBase64(interlocutorPhotoUrl);
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page.remove(page.size() - 1);
+        }
+        if (afterCursor != null) {
+            Collections.reverse(page);
         }
 
-        // Get messages with sender details
-        List<MessageDetailDto> messages = chatRepository.findMessagesByChatId(chat.getChatId()).stream()
+        List<MessageDetailDto> messages = page.stream()
                 .map(message -> toMessageDetailDto(message, currentUserId))
                 .collect(Collectors.toList());
 
+        // Going forward from a cursor there are always older messages; going back, only if the page was full
+        boolean hasOlder = afterCursor != null ? !page.isEmpty() : hasMore;
+        String newestCursor = page.isEmpty() ? after : MessageCursor.of(page.get(0)).encode();
+        String oldestCursor = hasOlder && !page.isEmpty() ? MessageCursor.of(page.get(page.size() - 1)).encode() : null;
+
         return ChatMessagesResponseDto.builder()
                 .interlocutor(ChatMessagesResponseDto.InterlocutorInfo.builder()
                         .userId(userId)
                         .name(interlocutorName)
-                        .photoBase64(interlocutorPhotoBase64)
+                        .photoBase64(mediaService.resolveThumbnail(interlocutorPhotoUrl))
+                        .photoMedia(mediaService.describeThumbnail(interlocutorPhotoUrl))
                         .build())
                 .messages(messages)
+                .beforeCursor(oldestCursor)
+                .afterCursor(newestCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public UnreadCountDto getUnreadCount() {
+        return UnreadCountDto.builder()
+                .total(unreadCounterService.getTotalUnread(securityUtils.getCurrentUserId()))
                 .build();
     }
 
-    private Chat findOrCreateChat(Long userId, Long interlocutorId) {
-        // Try to find an existing chat between these users
-        Optional<Chat> existingChat = chatRepository.findChatsByUserId(userId).stream()
-                .filter(chat -> chat.getInterlocutorId().equals(interlocutorId))
-                .findFirst();
+    @Override
+    @Transactional(readOnly = true)
+    public ChatSyncResponseDto sync(String since, Integer limit) {
+        Long currentUserId = securityUtils.getCurrentUserId();
+        long sinceSeq = SyncToken.decode(since).getChangeSeq();
+        int pageSize = limit == null || limit <= 0 ? maxSyncMessages : Math.min(limit, maxSyncMessages);
+
+        List<Message> messages = new ArrayList<>(
+                chatRepository.findMessagesChangedSince(currentUserId, sinceSeq, pageSize + 1));
+        boolean hasMore = messages.size() > pageSize;
+        if (hasMore) {
+            messages.remove(messages.size() - 1);
+        }
+        List<InboxEntry> chats = chatRepository.findInboxChangedSince(currentUserId, sinceSeq);
 
-        if (existingChat.isPresent()) {
-            return existingChat.get();
+        long nextSeq;
+        if (hasMore) {
+            // Paging through history: those rows are old enough to be settled
+            nextSeq = messages.get(messages.size() - 1).getChangeSeq();
+        } else {
+            nextSeq = settledWatermark(sinceSeq, messages, chats);
         }
 
-        // Create a new chat if none exists
-        Chat newChat = Chat.builder()
-                .userId(userId)
-                .interlocutorId(interlocutorId)
-                .unreadCount(0)
+        MediaBatch photos = mediaService.thumbnails(chats.stream()
+                .map(InboxEntry::getInterlocutorPhotoFileId)
+                .collect(Collectors.toList()));
+        return ChatSyncResponseDto.builder()
+                .chats(chats.stream()
+                        .map(entry -> toChatListResponseDto(entry, photos))
+                        .collect(Collectors.toList()))
+                .messages(messages.stream()
+                        .map(message -> toMessageDetailDto(message, currentUserId))
+                        .collect(Collectors.toList()))
+                .nextToken(new SyncToken(nextSeq).encode())
+                .hasMore(hasMore)
                 .build();
+    }
 
-        return chatRepository.save(newChat);
+    /**
+     * Highest change sequence that is safe to skip next time. Sequence values are taken when a row is written,
+     * not when it commits, so a transaction still in flight may hold a lower value than rows already visible.
+     * Only rows older than the settle window move the watermark; newer ones are returned again on the next sync.
+     */
+    private long settledWatermark(long sinceSeq, List<Message> messages, List<InboxEntry> chats) {
+        Instant settledBefore = Instant.now().minus(settleWindow);
+        long watermark = sinceSeq;
+        for (Message message : messages) {
+            if (message.getChangedAt() != null && message.getChangedAt().isBefore(settledBefore)) {
+                watermark = Math.max(watermark, message.getChangeSeq());
+            }
+        }
+        for (InboxEntry entry : chats) {
+            Chat chat = entry.getChat();
+            if (chat.getChangedAt() != null && chat.getChangedAt().isBefore(settledBefore)) {
+                watermark = Math.max(watermark, chat.getChangeSeq());
+            }
+        }
+        return watermark;
     }
 
-    private ChatListResponseDto toChatListResponseDto(Chat chat) {
-        // Get interlocutor information
-        User interlocutor = userRepository.findById(chat.getInterlocutorId())
+    private Interlocutor findInterlocutor(Long interlocutorId) {
+        User interlocutor = userRepository.findById(interlocutorId)
                 .orElseThrow(() -> new RuntimeException("Interlocutor not found"));
 
         // Get interlocutor's name and photo based on their role
-        String name;
-        String photoUrl;
-
         if (interlocutor.getRole() == UserRole.BRAND) {
-            BrandProfile profile = brandProfileRepository.findByUserId(chat.getInterlocutorId())
+            BrandProfile profile = brandProfileRepository.findByUserId(interlocutorId)
                     .orElseThrow(() -> new RuntimeException("Brand profile not found"));
-            name = profile.getName();
-            photoUrl = profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getLogoUrl();
-        } else {
-            InfluencerProfile profile = influencerProfileRepository.findByUserId(chat.getInterlocutorId())
-                    .orElseThrow(() -> new RuntimeException("Influencer profile not found"));
-            name = profile.getName();
-            photoUrl = profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getPhotoUrl();
-        }
-
-        // Convert photo to base64 if it exists
-        String photoBase64 = null;
-        if (photoUrl != null) {
-            photoBase64 = fileStorageService.readFileAsBase64(photoUrl);
+            return new Interlocutor(profile.getName(),
+                    profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getLogoUrl());
         }
+        InfluencerProfile profile = influencerProfileRepository.findByUserId(interlocutorId)
+                .orElseThrow(() -> new RuntimeException("Influencer profile not found"));
+        return new Interlocutor(profile.getName(),
+                profile.getProfilePhotoUrl() != null ? profile.getProfilePhotoUrl() : profile.getPhotoUrl());
+    }
 
+    private ChatListResponseDto toChatListResponseDto(InboxEntry entry, MediaBatch photos) {
+        Chat chat = entry.getChat();
         return ChatListResponseDto.builder()
                 .chatId(chat.getChatId())
                 .interlocutorId(chat.getInterlocutorId())
                 .interlocutor(ChatListResponseDto.InterlocutorInfo.builder()
                         .id(chat.getInterlocutorId())
-                        .name(name)
-                        .photoBase64(photoBase64)
+                        .name(entry.getInterlocutorName())
+                        .photoBase64(photos.resolve(entry.getInterlocutorPhotoFileId()))
+                        .photoMedia(photos.describe(entry.getInterlocutorPhotoFileId()))
                         .build())
-                .lastMessage(chat.getLastMessage() != null ? toLastMessageInfo(chat.getLastMessage()) : null)
+                .lastMessage(chat.getLastMessageId() != null ? toLastMessageInfo(chat) : null)
                 .unreadCount(chat.getUnreadCount())
                 .build();
     }
 
-    private ChatListResponseDto.LastMessageInfo toLastMessageInfo(Message message) {
+    private ChatListResponseDto.LastMessageInfo toLastMessageInfo(Chat chat) {
         return ChatListResponseDto.LastMessageInfo.builder()
-                .content(message.getContent())
-                .createdAt(message.getCreatedAt())
+                .messageId(chat.getLastMessageId())
+                .content(chat.getLastMessagePreview())
+                .createdAt(chat.getLastActivityAt())
                 .build();
     }
 
@@ -266,4 +346,7 @@ public class ChatServiceImpl implements ChatService {
                 .isFromMe(message.getSenderId().equals(currentUserId))
                 .build();
     }
-} 
\ No newline at end of file
+
+    private record Interlocutor(String name, String photoFileId) {
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -13,6 +15,25 @@ public class Chat {
     private Long chatId;
     private Long userId;
     private Long interlocutorId;
-    private Message lastMessage;
+    // Denormalized from the latest message so the chat list never reads the messages table
+    private Long lastMessageId;
+    private String lastMessagePreview;
+    private Instant lastActivityAt;
     private int unreadCount;
+    // Position in the chat change sequence, used by sync tokens
+    private Long changeSeq;
+    private Instant changedAt;
+
+    public static final int PREVIEW_LENGTH = 140;
+
+    /**
+     * First {@link #PREVIEW_LENGTH} characters of a message, without splitting a surrogate pair.
+     */
+    public static String previewOf(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
+    }
 } 
\ No newline at end of file
@@ -19,4 +19,7 @@ public class Message {
     private String content;
     private String attachmentUrl;
     private Instant createdAt;
+    // Position in the chat change sequence, used by sync tokens
+    private Long changeSeq;
+    private Instant changedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.influmatch.chat.domain.model.event;
+
+/**
+ * Published when a user's unread count for a chat is reset by reading it.
+ *
+ * @param clearedCount unread count of the chat before the reset
+ */
+public record ChatReadEvent(Long userId, Long chatId, Long interlocutorId, int clearedCount) {
+}
@@ -0,0 +1,12 @@
+package com.influmatch.chat.domain.model.event;
+
+import com.influmatch.chat.domain.model.entity.Message;
+
+/**
+ * Published once a message is saved; listeners see it only after the transaction commits.
+ *
+ * @param message             the saved message
+ * @param receiverUnreadCount unread count of the chat for the receiver after this message
+ */
+public record MessageSentEvent(Message message, int receiverUnreadCount) {
+}
@@ -0,0 +1,7 @@
+package com.influmatch.chat.domain.model.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.influmatch.chat.domain.model.exception;
+
+/**
+ * The message was not stored because the ingestion buffer is full; the client can retry it safely.
+ */
+public class MessageIngestionOverloadedException extends RuntimeException {
+    public MessageIngestionOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -2,15 +2,46 @@ package com.influmatch.chat.domain.model.repository;
 
 import com.influmatch.chat.domain.model.entity.Chat;
 import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.valueobject.InboxEntry;
+import com.influmatch.chat.domain.model.valueobject.MessageCursor;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface ChatRepository {
     List<Chat> findChatsByUserId(Long userId);
-    Optional<Chat> findById(Long chatId);
-    List<Message> findMessagesByChatId(Long chatId);
+    /**
+     * The user's chat with the interlocutor. The first call for a pair creates the conversation and both
+     * participants with upserts, so concurrent first messages from either side end up in the same one.
+     */
+    Chat findOrCreateChat(Long userId, Long interlocutorId);
+    /**
+     * The user's chats with interlocutor name and photo, most recent activity first, in a single query.
+     */
+    List<InboxEntry> findInboxByUserId(Long userId);
+    /**
+     * Inbox entries whose chat row changed after the given change sequence, in sequence order.
+     */
+    List<InboxEntry> findInboxChangedSince(Long userId, long since);
+    /**
+     * Up to {@code limit} messages sent or received by the user after the given change sequence, in sequence order.
+     */
+    List<Message> findMessagesChangedSince(Long userId, long since, int limit);
+    /**
+     * Up to {@code limit} messages older than the cursor (or the latest ones if it is null), newest first.
+     */
+    List<Message> findMessagesBefore(Long chatId, MessageCursor cursor, int limit);
+    /**
+     * Up to {@code limit} messages newer than the cursor, oldest first.
+     */
+    List<Message> findMessagesAfter(Long chatId, MessageCursor cursor, int limit);
     Message saveMessage(Message message);
     void updateUnreadCount(Long chatId, Long userId, int unreadCount);
-    Chat save(Chat chat);
+    /**
+     * Adds one to the user's unread count in the database and returns the new value.
+     */
+    int incrementUnreadCount(Long chatId, Long userId);
+    /**
+     * Sum of the user's unread counts over all their chats.
+     */
+    long sumUnreadCount(Long userId);
 } 
\ No newline at end of file
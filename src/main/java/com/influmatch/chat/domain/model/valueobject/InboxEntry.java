@@ -0,0 +1,17 @@
+package com.influmatch.chat.domain.model.valueobject;
+
+import com.influmatch.auth.domain.model.UserRole;
+import com.influmatch.chat.domain.model.entity.Chat;
+import lombok.Value;
+
+/**
+ * A chat as shown in the inbox, with the interlocutor data resolved by the same query.
+ * Name and photo are null when the interlocutor has no profile yet.
+ */
+@Value
+public class InboxEntry {
+    Chat chat;
+    UserRole interlocutorRole;
+    String interlocutorName;
+    String interlocutorPhotoFileId;
+}
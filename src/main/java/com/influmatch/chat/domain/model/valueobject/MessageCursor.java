@@ -0,0 +1,46 @@
+package com.influmatch.chat.domain.model.valueobject;
+
+import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.exception.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of a message in a chat's history, ordered by (createdAt, messageId).
+ * The id breaks ties between messages created in the same microsecond.
+ * <p>
+ * Exposed to clients as an opaque base64url token. Timestamps are kept at microsecond
+ * precision because that is what the database stores.
+ */
+@Value
+public class MessageCursor {
+    Instant createdAt;
+    Long messageId;
+
+    public static MessageCursor of(Message message) {
+        return new MessageCursor(message.getCreatedAt().truncatedTo(ChronoUnit.MICROS), message.getMessageId());
+    }
+
+    public static MessageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            Instant createdAt = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+            return new MessageCursor(createdAt, id);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid message cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt);
+        String raw = micros + ":" + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
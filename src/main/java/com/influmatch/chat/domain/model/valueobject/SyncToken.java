@@ -0,0 +1,44 @@
+package com.influmatch.chat.domain.model.valueobject;
+
+import com.influmatch.chat.domain.model.exception.InvalidCursorException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Watermark in the chat change sequence: everything at or below it has already been synced.
+ * Exposed to clients as an opaque base64url token.
+ */
+@Value
+public class SyncToken {
+    private static final String VERSION = "s1:";
+
+    public static final SyncToken INITIAL = new SyncToken(0);
+
+    long changeSeq;
+
+    public static SyncToken decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return INITIAL;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(VERSION)) {
+                throw new IllegalArgumentException();
+            }
+            long changeSeq = Long.parseLong(raw.substring(VERSION.length()));
+            if (changeSeq < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new SyncToken(changeSeq);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid sync token: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + changeSeq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
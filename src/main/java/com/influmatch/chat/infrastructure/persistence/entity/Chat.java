@@ -6,19 +6,46 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
+/**
+ * A participant's view of a {@link Conversation}: one row per (conversation, user),
+ * with that user's unread count and the conversation's last message.
+ */
 @Entity
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_conversation_user", columnNames = {"conversation_id", "user_id"}),
+        @UniqueConstraint(name = "uk_chat_user_interlocutor", columnNames = {"user_id", "interlocutor_id"})
+})
 public class Chat {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Column(nullable = false)
+    private Long conversationId;
     
     private Long userId;
     
     private Long interlocutorId;
     
     private int unreadCount;
+
+    private Long lastMessageId;
+
+    @Column(length = 140)
+    private String lastMessagePreview;
+
+    private Instant lastActivityAt;
+
+    // Written by the chat_change trigger on every insert and update (V15); read-only here
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(insertable = false, updatable = false)
+    private Instant changedAt;
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.influmatch.chat.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One row per pair of users, stored with the lower id first so the pair is unique whoever starts it.
+ * Each participant's view of it (unread count, last message) lives in {@link Chat}.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_conversation_pair", columnNames = {"user_low_id", "user_high_id"}))
+public class Conversation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userLowId;
+
+    @Column(nullable = false)
+    private Long userHighId;
+
+    @Column(insertable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -18,6 +18,7 @@ public class Message {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Conversation id, shared by both participants (see V16)
     private Long chatId;
     
     private Long senderId;
@@ -30,4 +31,11 @@ public class Message {
     private String attachmentUrl;
     
     private Instant createdAt;
+
+    // Written by the chat_change trigger on every insert and update (V15); read-only here
+    @Column(insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(insertable = false, updatable = false)
+    private Instant changedAt;
 } 
\ No newline at end of file
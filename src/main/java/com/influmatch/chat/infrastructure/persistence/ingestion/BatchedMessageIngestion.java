@@ -0,0 +1,345 @@
+package com.influmatch.chat.infrastructure.persistence.ingestion;
+
+import com.influmatch.chat.application.service.MessageIngestion;
+import com.influmatch.chat.domain.model.entity.Chat;
+import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.event.MessageSentEvent;
+import com.influmatch.chat.domain.model.exception.MessageIngestionOverloadedException;
+import com.influmatch.chat.domain.model.repository.ChatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for bursts of messages, such as a brand writing to dozens of influencers at once.
+ * <p>
+ * Senders queue their message in a bounded buffer and wait. A single writer thread takes what is queued,
+ * waits up to {@code flush-interval} for more, and writes the whole batch in one transaction: one
+ * query for the conversations, one for the ids, a JDBC batch insert (multi-row with the driver's
+ * {@code reWriteBatchedInserts}), a batch update of the last messages and one statement for all the
+ * unread counts. Senders are answered once that transaction has committed.
+ * <p>
+ * A full buffer is rejected straight away, and a message still queued after {@code ack-timeout} is
+ * withdrawn, so a rejected message was never written and can be retried. A message already taken into
+ * a batch waits at most another {@code ack-timeout}, which is also the batch transaction's timeout.
+ * If a batch fails, its messages are written one by one so a single bad message does not fail the others.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.chat.ingestion.mode", havingValue = "batched")
+public class BatchedMessageIngestion implements MessageIngestion {
+    private static final String FIND_CONVERSATIONS =
+            "SELECT c.user_id, c.interlocutor_id, c.conversation_id FROM chat c " +
+            "JOIN unnest(?::bigint[], ?::bigint[]) AS p(user_id, interlocutor_id) " +
+            "ON c.user_id = p.user_id AND c.interlocutor_id = p.interlocutor_id";
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence('message', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO message (id, chat_id, sender_id, receiver_id, content, attachment_url, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Same guard as JpaChatRepository.updateLastMessage
+    private static final String UPDATE_LAST_MESSAGE =
+            "UPDATE chat SET last_message_id = ?, last_message_preview = ?, last_activity_at = ? " +
+            "WHERE conversation_id = ? AND (last_activity_at IS NULL OR last_activity_at <= ?)";
+    private static final String INCREMENT_UNREAD =
+            "UPDATE chat c SET unread_count = c.unread_count + d.n " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::int[]) AS d(conversation_id, user_id, n) " +
+            "WHERE c.conversation_id = d.conversation_id AND c.user_id = d.user_id " +
+            "RETURNING c.conversation_id, c.user_id, c.unread_count";
+
+    private final ChatRepository chatRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration ackTimeout;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public BatchedMessageIngestion(ChatRepository chatRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${application.chat.ingestion.queue-capacity}") int queueCapacity,
+                                   @Value("${application.chat.ingestion.batch-size}") int batchSize,
+                                   @Value("${application.chat.ingestion.flush-interval}") Duration flushInterval,
+                                   @Value("${application.chat.ingestion.ack-timeout}") Duration ackTimeout) {
+        this.chatRepository = chatRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A stuck batch is rolled back instead of holding its senders and the writer thread
+        this.transactionTemplate.setTimeout((int) Math.max(1, ackTimeout.toSeconds()));
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.ackTimeout = ackTimeout;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::run, "chat-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // New messages are refused; what is already queued is still written
+        running = false;
+        writer.join(ackTimeout.toMillis());
+    }
+
+    @Override
+    public String name() {
+        return "batched";
+    }
+
+    @Override
+    public Message ingest(Message message) {
+        // The caller's connection would sit idle while the writer needs one from the same pool
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Batched message ingestion cannot run inside a transaction");
+        }
+        Pending pending = new Pending(message, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new MessageIngestionOverloadedException("Too many messages in flight, retry shortly");
+        }
+        try {
+            return pending.result().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new MessageIngestionOverloadedException("Message was not stored in time, retry shortly");
+            }
+            // Already part of a batch being written: its outcome is the answer
+            return join(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(pending)) {
+                throw new MessageIngestionOverloadedException("Message was not stored, retry shortly");
+            }
+            return join(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private Message join(Pending pending) {
+        // Not interruptible: the batch is committed or rolled back within its transaction anyway
+        boolean interrupted = Thread.interrupted();
+        long deadline = System.nanoTime() + ackTimeout.toNanos();
+        try {
+            while (true) {
+                try {
+                    return pending.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (TimeoutException e) {
+            // Only reached if the writer falls behind its own transaction timeout, e.g. retrying one by one
+            throw new MessageIngestionOverloadedException("Message is taking too long to store, retry shortly");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private RuntimeException unwrap(Throwable failure) {
+        return failure instanceof RuntimeException cause
+                ? cause
+                : new IllegalStateException("Message could not be stored", failure);
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Chat ingestion writer interrupted with {} messages queued", queue.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Chat ingestion writer failed on a batch of {} messages", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Gives concurrent senders up to {@code flush-interval} to join the batch.
+     */
+    private void collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Message> messages = batch.stream().map(Pending::message).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(messages));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Batch of {} messages failed, writing them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> flush(List.of(pending)));
+            return;
+        }
+        batch.forEach(pending -> pending.result().complete(pending.message()));
+    }
+
+    private void write(List<Message> messages) {
+        resolveChats(messages);
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).setMessageId(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, messages, messages.size(), (statement, message) -> {
+            statement.setLong(1, message.getMessageId());
+            statement.setLong(2, message.getChatId());
+            statement.setLong(3, message.getSenderId());
+            statement.setLong(4, message.getReceiverId());
+            statement.setString(5, message.getContent());
+            statement.setString(6, message.getAttachmentUrl());
+            statement.setTimestamp(7, Timestamp.from(message.getCreatedAt()));
+        });
+
+        // Only the newest message of each conversation ends up as its last message
+        Map<Long, Message> latest = new LinkedHashMap<>();
+        for (Message message : messages) {
+            latest.merge(message.getChatId(), message,
+                    (current, candidate) -> candidate.getCreatedAt().isBefore(current.getCreatedAt()) ? current : candidate);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE, latest.values(), latest.size(), (statement, message) -> {
+            Timestamp createdAt = Timestamp.from(message.getCreatedAt());
+            statement.setLong(1, message.getMessageId());
+            statement.setString(2, Chat.previewOf(message.getContent()));
+            statement.setTimestamp(3, createdAt);
+            statement.setLong(4, message.getChatId());
+            statement.setTimestamp(5, createdAt);
+        });
+
+        int[] unreadCounts = incrementUnreadCounts(messages);
+
+        // Pushed to the connected sessions after commit
+        for (int i = 0; i < messages.size(); i++) {
+            eventPublisher.publishEvent(new MessageSentEvent(messages.get(i), unreadCounts[i]));
+        }
+    }
+
+    /**
+     * Sets the conversation id of every message: one query for the existing chats, the usual
+     * creation path for first messages.
+     */
+    private void resolveChats(List<Message> messages) {
+        Map<Pair, Long> conversations = new HashMap<>();
+        List<Pair> pairs = messages.stream()
+                .map(message -> new Pair(message.getSenderId(), message.getReceiverId()))
+                .distinct()
+                .toList();
+        jdbcTemplate.query(FIND_CONVERSATIONS,
+                rs -> {
+                    conversations.put(new Pair(rs.getLong(1), rs.getLong(2)), rs.getLong(3));
+                },
+                pairs.stream().map(Pair::senderId).toArray(Long[]::new),
+                pairs.stream().map(Pair::receiverId).toArray(Long[]::new));
+
+        for (Message message : messages) {
+            Pair pair = new Pair(message.getSenderId(), message.getReceiverId());
+            Long conversationId = conversations.computeIfAbsent(pair,
+                    missing -> chatRepository.findOrCreateChat(missing.senderId(), missing.receiverId()).getChatId());
+            message.setChatId(conversationId);
+        }
+    }
+
+    /**
+     * Adds each receiver's share of the batch in one statement and returns, per message, the receiver's
+     * unread count right after that message, as the direct mode would have reported it.
+     */
+    private int[] incrementUnreadCounts(List<Message> messages) {
+        Map<Participant, Integer> increments = new LinkedHashMap<>();
+        for (Message message : messages) {
+            increments.merge(new Participant(message.getChatId(), message.getReceiverId()), 1, Integer::sum);
+        }
+
+        Map<Participant, Integer> totals = new HashMap<>();
+        jdbcTemplate.query(INCREMENT_UNREAD,
+                rs -> {
+                    totals.put(new Participant(rs.getLong(1), rs.getLong(2)), rs.getInt(3));
+                },
+                increments.keySet().stream().map(Participant::conversationId).toArray(Long[]::new),
+                increments.keySet().stream().map(Participant::userId).toArray(Long[]::new),
+                increments.values().toArray(Integer[]::new));
+
+        // Walking backwards, each message's count is the total minus the messages after it
+        int[] unreadCounts = new int[messages.size()];
+        Map<Participant, Integer> later = new HashMap<>();
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            Participant key = new Participant(messages.get(i).getChatId(), messages.get(i).getReceiverId());
+            int after = later.merge(key, 1, Integer::sum) - 1;
+            unreadCounts[i] = Math.max(0, totals.getOrDefault(key, 0) - after);
+        }
+        return unreadCounts;
+    }
+
+    private record Pending(Message message, CompletableFuture<Message> result) {
+    }
+
+    private record Pair(Long senderId, Long receiverId) {
+    }
+
+    private record Participant(Long conversationId, Long userId) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.influmatch.chat.infrastructure.persistence.ingestion;
+
+import com.influmatch.chat.application.service.MessageIngestion;
+import com.influmatch.chat.domain.model.entity.Chat;
+import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.event.MessageSentEvent;
+import com.influmatch.chat.domain.model.repository.ChatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One transaction per message, committed before the request returns.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.chat.ingestion.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectMessageIngestion implements MessageIngestion {
+    private final ChatRepository chatRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String name() {
+        return "direct";
+    }
+
+    @Override
+    @Transactional
+    public Message ingest(Message message) {
+        // Find existing chat or create a new one
+        Chat chat = chatRepository.findOrCreateChat(message.getSenderId(), message.getReceiverId());
+        message.setChatId(chat.getChatId());
+
+        Message saved = chatRepository.saveMessage(message);
+
+        // Increment unread count for the receiver, in the database so concurrent sends all count
+        int unreadCount = chatRepository.incrementUnreadCount(chat.getChatId(), message.getReceiverId());
+
+        // Pushed to the connected sessions after commit
+        eventPublisher.publishEvent(new MessageSentEvent(saved, unreadCount));
+        return saved;
+    }
+}
@@ -0,0 +1,23 @@
+package com.influmatch.chat.infrastructure.persistence.repository;
+
+import com.influmatch.auth.domain.model.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Projection of {@link JpaChatRepository#INBOX_QUERY}.
+ */
+public interface ChatInboxRow {
+    Long getChatId();
+    Long getUserId();
+    Long getInterlocutorId();
+    int getUnreadCount();
+    Long getLastMessageId();
+    String getLastMessagePreview();
+    Instant getLastActivityAt();
+    UserRole getInterlocutorRole();
+    String getInterlocutorName();
+    String getInterlocutorPhotoFileId();
+    Long getChangeSeq();
+    Instant getChangedAt();
+}
@@ -3,11 +3,13 @@ package com.influmatch.chat.infrastructure.persistence.repository;
 import com.influmatch.chat.domain.model.entity.Chat;
 import com.influmatch.chat.domain.model.entity.Message;
 import com.influmatch.chat.domain.model.repository.ChatRepository;
+import com.influmatch.chat.domain.model.valueobject.InboxEntry;
+import com.influmatch.chat.domain.model.valueobject.MessageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
@@ -16,27 +18,72 @@ public class ChatRepositoryImpl implements ChatRepository {
 
     private final JpaChatRepository jpaChatRepository;
     private final JpaMessageRepository jpaMessageRepository;
+    private final JpaConversationRepository jpaConversationRepository;
 
     @Override
     public List<Chat> findChatsByUserId(Long userId) {
-        return jpaChatRepository.findByUserId(userId).stream()
+        return jpaChatRepository.findByUserIdOrderByLastActivity(userId).stream()
                 .map(this::toChatDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Optional<Chat> findById(Long chatId) {
-        return jpaChatRepository.findById(chatId)
-                .map(this::toChatDomain);
+    public Chat findOrCreateChat(Long userId, Long interlocutorId) {
+        return jpaChatRepository.findByUserIdAndInterlocutorId(userId, interlocutorId)
+                .or(() -> {
+                    jpaConversationRepository.insertIfMissing(userId, interlocutorId);
+                    Long conversationId = jpaConversationRepository.findIdByPair(userId, interlocutorId);
+                    jpaChatRepository.insertParticipantsIfMissing(conversationId, userId, interlocutorId);
+                    return jpaChatRepository.findByUserIdAndInterlocutorId(userId, interlocutorId);
+                })
+                .map(this::toChatDomain)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Chat between " + userId + " and " + interlocutorId + " was not created"));
+    }
+
+    @Override
+    public List<InboxEntry> findInboxByUserId(Long userId) {
+        return jpaChatRepository.findInbox(userId).stream()
+                .map(this::toInboxEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<InboxEntry> findInboxChangedSince(Long userId, long since) {
+        return jpaChatRepository.findInboxChangedSince(userId, since).stream()
+                .map(this::toInboxEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Message> findMessagesChangedSince(Long userId, long since, int limit) {
+        return jpaMessageRepository.findChangedSince(userId, since, PageRequest.of(0, limit)).stream()
+                .map(this::toMessageDomain)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<Message> findMessagesByChatId(Long chatId) {
-        return jpaMessageRepository.findByChatIdOrderByCreatedAtDesc(chatId).stream()
+    public List<Message> findMessagesBefore(Long chatId, MessageCursor cursor, int limit) {
+        var page = PageRequest.of(0, limit);
+        var messages = cursor == null
+                ? jpaMessageRepository.findLatest(chatId, page)
+                : jpaMessageRepository.findBefore(chatId, cursor.getCreatedAt(), cursor.getMessageId(), page);
+        return messages.stream()
                 .map(this::toMessageDomain)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Message> findMessagesAfter(Long chatId, MessageCursor cursor, int limit) {
+        return jpaMessageRepository.findAfter(chatId, cursor.getCreatedAt(), cursor.getMessageId(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::toMessageDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Saves the message and updates the chat's last message columns in the same transaction.
+     */
     @Override
     public Message saveMessage(Message message) {
         var entity = com.influmatch.chat.infrastructure.persistence.entity.Message.builder()
@@ -47,8 +94,11 @@ public class ChatRepositoryImpl implements ChatRepository {
                 .attachmentUrl(message.getAttachmentUrl())
                 .createdAt(message.getCreatedAt())
                 .build();
-        
-        return toMessageDomain(jpaMessageRepository.save(entity));
+
+        Message saved = toMessageDomain(jpaMessageRepository.save(entity));
+        jpaChatRepository.updateLastMessage(saved.getChatId(), saved.getMessageId(),
+                Chat.previewOf(saved.getContent()), saved.getCreatedAt());
+        return saved;
     }
 
     @Override
@@ -57,28 +107,44 @@ public class ChatRepositoryImpl implements ChatRepository {
     }
 
     @Override
-    public Chat save(Chat chat) {
-        var entity = com.influmatch.chat.infrastructure.persistence.entity.Chat.builder()
-                .userId(chat.getUserId())
-                .interlocutorId(chat.getInterlocutorId())
-                .unreadCount(chat.getUnreadCount())
-                .build();
-        
-        return toChatDomain(jpaChatRepository.save(entity));
+    public long sumUnreadCount(Long userId) {
+        return jpaChatRepository.sumUnreadCount(userId);
     }
 
-    private Chat toChatDomain(com.influmatch.chat.infrastructure.persistence.entity.Chat entity) {
-        // Get the last message for this chat
-        var messages = jpaMessageRepository.findByChatIdOrderByCreatedAtDesc(entity.getId());
-        Message lastMessage = messages.isEmpty() ? null : toMessageDomain(messages.get(0));
+    @Override
+    public int incrementUnreadCount(Long chatId, Long userId) {
+        Integer unreadCount = jpaChatRepository.incrementUnreadCount(chatId, userId);
+        return unreadCount != null ? unreadCount : 0;
+    }
 
+    private Chat toChatDomain(com.influmatch.chat.infrastructure.persistence.entity.Chat entity) {
         return Chat.builder()
-                .chatId(entity.getId())
+                .chatId(entity.getConversationId())
                 .userId(entity.getUserId())
                 .interlocutorId(entity.getInterlocutorId())
-                .lastMessage(lastMessage)
+                .lastMessageId(entity.getLastMessageId())
+                .lastMessagePreview(entity.getLastMessagePreview())
+                .lastActivityAt(entity.getLastActivityAt())
                 .unreadCount(entity.getUnreadCount())
+                .changeSeq(entity.getChangeSeq())
+                .changedAt(entity.getChangedAt())
+                .build();
+    }
+
+    private InboxEntry toInboxEntry(ChatInboxRow row) {
+        Chat chat = Chat.builder()
+                .chatId(row.getChatId())
+                .userId(row.getUserId())
+                .interlocutorId(row.getInterlocutorId())
+                .lastMessageId(row.getLastMessageId())
+                .lastMessagePreview(row.getLastMessagePreview())
+                .lastActivityAt(row.getLastActivityAt())
+                .unreadCount(row.getUnreadCount())
+                .changeSeq(row.getChangeSeq())
+                .changedAt(row.getChangedAt())
                 .build();
+        return new InboxEntry(chat, row.getInterlocutorRole(), row.getInterlocutorName(),
+                row.getInterlocutorPhotoFileId());
     }
 
     private Message toMessageDomain(com.influmatch.chat.infrastructure.persistence.entity.Message entity) {
@@ -90,6 +156,8 @@ public class ChatRepositoryImpl implements ChatRepository {
                 .content(entity.getContent())
                 .attachmentUrl(entity.getAttachmentUrl())
                 .createdAt(entity.getCreatedAt())
+                .changeSeq(entity.getChangeSeq())
+                .changedAt(entity.getChangedAt())
                 .build();
     }
 } 
\ No newline at end of file
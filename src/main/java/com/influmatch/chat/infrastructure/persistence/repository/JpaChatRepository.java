@@ -6,13 +6,63 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JpaChatRepository extends JpaRepository<Chat, Long> {
-    List<Chat> findByUserId(Long userId);
+    @Query("SELECT c FROM Chat c WHERE c.userId = ?1 ORDER BY c.lastActivityAt DESC NULLS LAST, c.id DESC")
+    List<Chat> findByUserIdOrderByLastActivity(Long userId);
+
+    Optional<Chat> findByUserIdAndInterlocutorId(Long userId, Long interlocutorId);
     
+    /**
+     * The whole inbox in one statement: chat row, interlocutor role, and the name and photo
+     * from whichever profile matches the role. Photo falls back the same way as the profile views.
+     */
+    String INBOX_QUERY = "SELECT c.conversationId AS chatId, c.userId AS userId, c.interlocutorId AS interlocutorId, " +
+           "c.unreadCount AS unreadCount, c.lastMessageId AS lastMessageId, " +
+           "c.lastMessagePreview AS lastMessagePreview, c.lastActivityAt AS lastActivityAt, " +
+           "c.changeSeq AS changeSeq, c.changedAt AS changedAt, " +
+           "u.role AS interlocutorRole, " +
+           "COALESCE(b.name, i.name) AS interlocutorName, " +
+           "COALESCE(b.profilePhotoUrl, b.logoUrl, i.profilePhotoUrl, i.photoUrl) AS interlocutorPhotoFileId " +
+           "FROM Chat c " +
+           "LEFT JOIN User u ON u.id = c.interlocutorId " +
+           "LEFT JOIN BrandProfile b ON b.userId = c.interlocutorId " +
+           "AND u.role = com.influmatch.auth.domain.model.UserRole.BRAND " +
+           "LEFT JOIN InfluencerProfile i ON i.userId = c.interlocutorId " +
+           "AND u.role = com.influmatch.auth.domain.model.UserRole.INFLUENCER ";
+
+    @Query(INBOX_QUERY + "WHERE c.userId = ?1 ORDER BY c.lastActivityAt DESC NULLS LAST, c.id DESC")
+    List<ChatInboxRow> findInbox(Long userId);
+
+    @Query(INBOX_QUERY + "WHERE c.userId = ?1 AND c.changeSeq > ?2 ORDER BY c.changeSeq")
+    List<ChatInboxRow> findInboxChangedSince(Long userId, long since);
+
+    // Both participants at once; rows that already exist are left alone
+    @Modifying
+    @Query(value = "INSERT INTO chat (conversation_id, user_id, interlocutor_id, unread_count) " +
+                   "VALUES (?1, ?2, ?3, 0), (?1, ?3, ?2, 0) " +
+                   "ON CONFLICT (conversation_id, user_id) DO NOTHING", nativeQuery = true)
+    void insertParticipantsIfMissing(Long conversationId, Long userId, Long otherUserId);
+
+    @Query("SELECT COALESCE(SUM(c.unreadCount), 0) FROM Chat c WHERE c.userId = ?1")
+    long sumUnreadCount(Long userId);
+
+    @Modifying
+    @Query("UPDATE Chat c SET c.unreadCount = ?3 WHERE c.conversationId = ?1 AND c.userId = ?2")
+    void updateUnreadCount(Long conversationId, Long userId, int unreadCount);
+
+    // The increment happens in the row lock, so concurrent senders never lose one
+    @Query(value = "UPDATE chat SET unread_count = unread_count + 1 " +
+                   "WHERE conversation_id = ?1 AND user_id = ?2 RETURNING unread_count", nativeQuery = true)
+    Integer incrementUnreadCount(Long conversationId, Long userId);
+
+    // Guarded by the timestamp so a slower concurrent send cannot overwrite a newer last message
     @Modifying
-    @Query("UPDATE Chat c SET c.unreadCount = ?3 WHERE c.id = ?1 AND c.userId = ?2")
-    void updateUnreadCount(Long chatId, Long userId, int unreadCount);
+    @Query("UPDATE Chat c SET c.lastMessageId = ?2, c.lastMessagePreview = ?3, c.lastActivityAt = ?4 " +
+           "WHERE c.conversationId = ?1 AND (c.lastActivityAt IS NULL OR c.lastActivityAt <= ?4)")
+    void updateLastMessage(Long conversationId, Long messageId, String preview, Instant createdAt);
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.influmatch.chat.infrastructure.persistence.repository;
+
+import com.influmatch.chat.infrastructure.persistence.entity.Conversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JpaConversationRepository extends JpaRepository<Conversation, Long> {
+
+    // A concurrent insert of the same pair makes this wait for it and then do nothing
+    @Modifying
+    @Query(value = "INSERT INTO conversation (user_low_id, user_high_id) VALUES (LEAST(?1, ?2), GREATEST(?1, ?2)) " +
+                   "ON CONFLICT (user_low_id, user_high_id) DO NOTHING", nativeQuery = true)
+    void insertIfMissing(Long userId, Long otherUserId);
+
+    // Separate statement from the insert: a row committed by a concurrent insert is only visible to a new one
+    @Query(value = "SELECT id FROM conversation WHERE user_low_id = LEAST(?1, ?2) AND user_high_id = GREATEST(?1, ?2)",
+           nativeQuery = true)
+    Long findIdByPair(Long userId, Long otherUserId);
+}
@@ -1,12 +1,43 @@
 package com.influmatch.chat.infrastructure.persistence.repository;
 
 import com.influmatch.chat.infrastructure.persistence.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface JpaMessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByChatIdOrderByCreatedAtDesc(Long chatId);
-} 
\ No newline at end of file
+    // Keyset queries over idx_message_chat_created_id; the limit comes from the Pageable
+
+    @Query("SELECT m FROM Message m WHERE m.chatId = :chatId ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatest(@Param("chatId") Long chatId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.chatId = :chatId " +
+           "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findBefore(@Param("chatId") Long chatId,
+                             @Param("createdAt") Instant createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.chatId = :chatId " +
+           "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findAfter(@Param("chatId") Long chatId,
+                            @Param("createdAt") Instant createdAt,
+                            @Param("id") Long id,
+                            Pageable pageable);
+
+    @Query("SELECT COUNT(m) > 0 FROM Message m WHERE m.attachmentUrl = :fileId " +
+           "AND (m.senderId = :userId OR m.receiverId = :userId)")
+    boolean existsAttachmentForParticipant(@Param("fileId") String fileId, @Param("userId") Long userId);
+
+    @Query("SELECT m FROM Message m WHERE (m.senderId = :userId OR m.receiverId = :userId) " +
+           "AND m.changeSeq > :since ORDER BY m.changeSeq")
+    List<Message> findChangedSince(@Param("userId") Long userId, @Param("since") long since, Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package com.influmatch.chat.infrastructure.storage;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import com.influmatch.shared.infrastructure.storage.StagedContent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Decodes a base64 JSON string straight from the request stream into a staged blob file.
+ * Jackson decodes chunk by chunk and rejects invalid characters or padding as it reads,
+ * so the attachment is never held in memory as a String or byte[].
+ * <p>
+ * Instantiated by Spring's handler instantiator, hence the injected dependencies.
+ */
+public class Base64AttachmentDeserializer extends JsonDeserializer<StagedContent> {
+    private final BlobStore blobStore;
+    private final long maxSize;
+
+    public Base64AttachmentDeserializer(BlobStore blobStore,
+                                        @Value("${application.chat.attachments.max-size}") DataSize maxSize) {
+        this.blobStore = blobStore;
+        this.maxSize = maxSize.toBytes();
+    }
+
+    @Override
+    public StagedContent deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        StagedContent staged = blobStore.stage(out ->
+                parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, new LimitedOutputStream(out, parser)));
+
+        // Whatever the request does afterwards, the staging file is gone once it completes
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.registerDestructionCallback("stagedAttachment:" + staged.getPath(),
+                    () -> blobStore.discard(staged), RequestAttributes.SCOPE_REQUEST);
+        }
+        return staged;
+    }
+
+    private class LimitedOutputStream extends FilterOutputStream {
+        private final JsonParser parser;
+        private long written;
+
+        LimitedOutputStream(OutputStream out, JsonParser parser) {
+            super(out);
+            this.parser = parser;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkLimit(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkLimit(len);
+            out.write(b, off, len);
+        }
+
+        private void checkLimit(int len) throws IOException {
+            written += len;
+            if (written > maxSize) {
+                throw JsonMappingException.from(parser, "Attachment exceeds the maximum size of " + maxSize + " bytes");
+            }
+        }
+    }
+}
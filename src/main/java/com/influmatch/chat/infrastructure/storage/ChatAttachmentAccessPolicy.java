@@ -0,0 +1,20 @@
+package com.influmatch.chat.infrastructure.storage;
+
+import com.influmatch.chat.infrastructure.persistence.repository.JpaMessageRepository;
+import com.influmatch.profile.application.service.FileAccessPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chat attachments are readable by both participants of a message that references them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatAttachmentAccessPolicy implements FileAccessPolicy {
+    private final JpaMessageRepository jpaMessageRepository;
+
+    @Override
+    public boolean canRead(String fileId, Long userId) {
+        return jpaMessageRepository.existsAttachmentForParticipant(fileId, userId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+/**
+ * One STOMP message for one user: a /user-relative destination and its payload.
+ */
+public record ChatPush(String destination, Object payload) {
+}
@@ -0,0 +1,16 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+/**
+ * Gets pushes to whichever node holds the user's sessions.
+ * Selected with {@code application.chat.relay.type}: {@code local} for a single instance,
+ * {@code postgres} (LISTEN/NOTIFY) when several instances share the database.
+ */
+public interface ChatPushRelay {
+
+    String name();
+
+    /**
+     * Called after the change is committed. Delivery is best effort: clients resync through the REST endpoints.
+     */
+    void publish(Long userId, ChatPush push);
+}
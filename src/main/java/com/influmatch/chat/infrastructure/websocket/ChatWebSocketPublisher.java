@@ -0,0 +1,75 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.influmatch.chat.application.dto.ChatListResponseDto;
+import com.influmatch.chat.application.dto.ChatUpdateDto;
+import com.influmatch.chat.application.dto.MessageDetailDto;
+import com.influmatch.chat.domain.model.entity.Chat;
+import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.event.ChatReadEvent;
+import com.influmatch.chat.domain.model.event.MessageSentEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes chat changes to the connected sessions of the users involved, once the change is committed.
+ * The relay gets them to whichever node holds those sessions; users without an open session simply
+ * get nothing and catch up through the REST endpoints.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatWebSocketPublisher {
+    public static final String MESSAGES_QUEUE = "/queue/messages";
+    public static final String CHATS_QUEUE = "/queue/chats";
+
+    private final ChatPushRelay relay;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        Message message = event.message();
+        ChatListResponseDto.LastMessageInfo lastMessage = ChatListResponseDto.LastMessageInfo.builder()
+                .messageId(message.getMessageId())
+                .content(Chat.previewOf(message.getContent()))
+                .createdAt(message.getCreatedAt())
+                .build();
+
+        Long receiver = message.getReceiverId();
+        relay.publish(receiver, new ChatPush(MESSAGES_QUEUE, toMessageDetailDto(message, false)));
+        relay.publish(receiver, new ChatPush(CHATS_QUEUE, ChatUpdateDto.builder()
+                .chatId(message.getChatId())
+                .interlocutorId(message.getSenderId())
+                .lastMessage(lastMessage)
+                .unreadCount(event.receiverUnreadCount())
+                .build()));
+
+        // The sender's other devices
+        Long sender = message.getSenderId();
+        relay.publish(sender, new ChatPush(MESSAGES_QUEUE, toMessageDetailDto(message, true)));
+        relay.publish(sender, new ChatPush(CHATS_QUEUE, ChatUpdateDto.builder()
+                .chatId(message.getChatId())
+                .interlocutorId(message.getReceiverId())
+                .lastMessage(lastMessage)
+                .build()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatRead(ChatReadEvent event) {
+        relay.publish(event.userId(), new ChatPush(CHATS_QUEUE, ChatUpdateDto.builder()
+                .chatId(event.chatId())
+                .interlocutorId(event.interlocutorId())
+                .unreadCount(0)
+                .build()));
+    }
+
+    private MessageDetailDto toMessageDetailDto(Message message, boolean fromMe) {
+        return MessageDetailDto.builder()
+                .messageId(message.getMessageId())
+                .senderId(message.getSenderId())
+                .receiverId(message.getReceiverId())
+                .content(message.getContent())
+                .attachmentUrl(message.getAttachmentUrl())
+                .createdAt(message.getCreatedAt())
+                .isFromMe(fromMe)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.influmatch.auth.application.service.JwtService;
+import com.influmatch.auth.infrastructure.config.UserDetailsServiceImpl;
+import com.influmatch.auth.infrastructure.security.CurrentUser;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Authenticates the STOMP CONNECT frame with the Authorization header and rejects every other frame
+ * from an unauthenticated session, as well as SEND frames and subscriptions outside /user. Browsers
+ * cannot set headers on the WebSocket handshake, so the token travels in the CONNECT frame instead.
+ * <p>
+ * The session principal is named after the user id, which is what the publisher addresses.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtStompInterceptor implements ChannelInterceptor {
+    private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (accessor.getUser() == null && accessor.getCommand() != StompCommand.DISCONNECT) {
+            throw new MessageDeliveryException("Not authenticated");
+        } else if (accessor.getCommand() == StompCommand.SEND) {
+            // There are no /app handlers, and a SEND to /user/{id}/... would reach another user's queue
+            throw new MessageDeliveryException("Clients cannot send to the broker");
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE
+                && (accessor.getDestination() == null || !accessor.getDestination().startsWith("/user/"))) {
+            // Only per-user queues; the broker's resolved session queues are not addressable directly
+            throw new MessageDeliveryException("Subscriptions are only allowed to /user destinations");
+        }
+        return message;
+    }
+
+    private Principal authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing bearer token");
+        }
+        String jwt = authHeader.substring(7);
+        try {
+            CurrentUser user = (CurrentUser) userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+            if (!jwtService.isTokenValid(jwt, user)) {
+                throw new MessageDeliveryException("Invalid token");
+            }
+            String name = String.valueOf(user.getId());
+            return () -> name;
+        } catch (JwtException | UsernameNotFoundException e) {
+            throw new MessageDeliveryException("Invalid token");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends pushes to the sessions connected to this node; users connected elsewhere are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalChatDelivery {
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+
+    public boolean isConnected(Long userId) {
+        return userRegistry.getUser(String.valueOf(userId)) != null;
+    }
+
+    public void deliver(Long userId, List<ChatPush> pushes) {
+        if (!isConnected(userId)) {
+            return;
+        }
+        String user = String.valueOf(userId);
+        for (ChatPush push : pushes) {
+            messagingTemplate.convertAndSendToUser(user, push.destination(), push.payload());
+        }
+    }
+}
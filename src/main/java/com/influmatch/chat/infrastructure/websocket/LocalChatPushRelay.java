@@ -0,0 +1,27 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single-instance relay: delivers straight to this node's sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "application.chat.relay.type", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalChatPushRelay implements ChatPushRelay {
+    private final LocalChatDelivery delivery;
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public void publish(Long userId, ChatPush push) {
+        delivery.deliver(userId, List.of(push));
+    }
+}
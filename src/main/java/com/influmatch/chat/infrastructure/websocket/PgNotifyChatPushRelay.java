@@ -0,0 +1,316 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-node relay over Postgres LISTEN/NOTIFY on the database we already run.
+ * <p>
+ * Pushes are buffered per recipient and flushed every {@code flush-interval}, so a burst of messages
+ * to the same user becomes one notification carrying all of them. Every node, this one included,
+ * listens on the channel with a dedicated connection and delivers to the sessions it holds.
+ * <p>
+ * NOTIFY payloads are capped at 8000 bytes. Larger batches are split; a single push that does not
+ * fit (a very long message) is written to chat_relay_spill and only its id is notified, so the nodes
+ * holding the recipient read the body from there. Spilled rows are removed after {@code spill-retention}.
+ * <p>
+ * The listening connection is checked every {@code keepalive-interval}, so a connection dropped without
+ * an error (a half-open socket after a failover) is noticed and replaced.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.chat.relay.type", havingValue = "postgres", matchIfMissing = true)
+public class PgNotifyChatPushRelay implements ChatPushRelay {
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalChatDelivery delivery;
+
+    private final Map<Long, List<JsonNode>> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private Thread listener;
+    private volatile boolean running;
+
+    @Value("${application.chat.relay.channel}")
+    private String channel;
+
+    @Value("${application.chat.relay.flush-interval}")
+    private Duration flushInterval;
+
+    @Value("${application.chat.relay.reconnect-delay}")
+    private Duration reconnectDelay;
+
+    @Value("${application.chat.relay.keepalive-interval}")
+    private Duration keepaliveInterval;
+
+    @Value("${application.chat.relay.spill-retention}")
+    private Duration spillRetention;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private final ListenConnector connector;
+
+    @Autowired
+    public PgNotifyChatPushRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, LocalChatDelivery delivery) {
+        this(jdbcTemplate, objectMapper, delivery, null);
+    }
+
+    PgNotifyChatPushRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, LocalChatDelivery delivery,
+                          ListenConnector connector) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.delivery = delivery;
+        // Outside the pool: the connection stays in LISTEN for the lifetime of the node
+        this.connector = connector != null ? connector : () -> DriverManager.getConnection(url, username, password);
+    }
+
+    @PostConstruct
+    void start() {
+        // Goes into LISTEN unquoted, so it has to be a plain identifier
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid chat relay channel: " + channel);
+        }
+        running = true;
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-relay-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::purgeSpill, spillRetention.toMillis(), spillRetention.toMillis(),
+                TimeUnit.MILLISECONDS);
+        listener = new Thread(this::listen, "chat-relay-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusher.shutdown();
+        flush();
+        listener.interrupt();
+    }
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+
+    @Override
+    public void publish(Long userId, ChatPush push) {
+        JsonNode node = objectMapper.createObjectNode()
+                .put("destination", push.destination())
+                .set("payload", objectMapper.valueToTree(push.payload()));
+        pending.compute(userId, (id, pushes) -> {
+            List<JsonNode> list = pushes != null ? pushes : new ArrayList<>();
+            list.add(node);
+            return list;
+        });
+    }
+
+    void flush() {
+        List<String> payloads = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            List<JsonNode> pushes = pending.remove(userId);
+            if (pushes != null) {
+                payloads.addAll(envelopes(userId, pushes));
+            }
+        }
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    for (String payload : payloads) {
+                        statement.setString(1, channel);
+                        statement.setString(2, payload);
+                        statement.execute();
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not relay {} chat notifications: {}", payloads.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Packs one user's pushes into as few payloads as fit under the NOTIFY limit.
+     */
+    private List<String> envelopes(Long userId, List<JsonNode> pushes) {
+        List<String> result = new ArrayList<>();
+        List<JsonNode> batch = new ArrayList<>();
+        for (JsonNode push : pushes) {
+            if (size(userId, List.of(push)) > MAX_PAYLOAD_BYTES) {
+                push = spill(userId, push);
+                if (push == null) {
+                    continue;
+                }
+            }
+            batch.add(push);
+            if (size(userId, batch) > MAX_PAYLOAD_BYTES) {
+                batch.remove(batch.size() - 1);
+                result.add(serialize(userId, batch));
+                batch = new ArrayList<>(List.of(push));
+            }
+        }
+        if (!batch.isEmpty()) {
+            result.add(serialize(userId, batch));
+        }
+        return result;
+    }
+
+    /**
+     * Stores a push too large for NOTIFY and returns the reference to notify instead, or null if it
+     * could not be stored.
+     */
+    private JsonNode spill(Long userId, JsonNode push) {
+        try {
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO chat_relay_spill (payload) VALUES (?) RETURNING id", Long.class,
+                    objectMapper.writeValueAsString(push));
+            return objectMapper.createObjectNode().put("ref", id);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Dropping chat push to {} for user {}: too large to notify and could not be spilled: {}",
+                    push.path("destination").asText(), userId, e.getMessage());
+            return null;
+        }
+    }
+
+    void purgeSpill() {
+        try {
+            jdbcTemplate.update("DELETE FROM chat_relay_spill WHERE created_at < ?",
+                    Timestamp.from(Instant.now().minus(spillRetention)));
+        } catch (RuntimeException e) {
+            log.warn("Could not purge spilled chat pushes: {}", e.getMessage());
+        }
+    }
+
+    private int size(Long userId, List<JsonNode> pushes) {
+        return serialize(userId, pushes).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private String serialize(Long userId, List<JsonNode> pushes) {
+        try {
+            return objectMapper.writeValueAsString(new RelayEnvelope(userId, pushes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize chat relay envelope", e);
+        }
+    }
+
+    void listen() {
+        while (running) {
+            try (Connection connection = connector.connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for chat notifications on channel {}", channel);
+                long lastCheck = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null && notifications.length > 0) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                        lastCheck = System.nanoTime();
+                    } else if (System.nanoTime() - lastCheck > keepaliveInterval.toNanos()) {
+                        // A silent channel may also be a dead socket: the driver only notices on a round trip
+                        if (!connection.isValid((int) Math.max(1, reconnectDelay.toSeconds()))) {
+                            throw new SQLException("Listen connection is no longer valid");
+                        }
+                        lastCheck = System.nanoTime();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Chat relay listener lost its connection, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            RelayEnvelope envelope = objectMapper.readValue(payload, RelayEnvelope.class);
+            if (!delivery.isConnected(envelope.userId())) {
+                return;
+            }
+            List<ChatPush> pushes = new ArrayList<>();
+            for (JsonNode push : envelope.pushes()) {
+                JsonNode body = push.has("ref") ? fetchSpilled(push.get("ref").asLong()) : push;
+                if (body != null) {
+                    pushes.add(new ChatPush(body.path("destination").asText(), body.get("payload")));
+                }
+            }
+            delivery.deliver(envelope.userId(), pushes);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Ignoring malformed chat notification: {}", e.getMessage());
+        }
+    }
+
+    private JsonNode fetchSpilled(long id) throws JsonProcessingException {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT payload FROM chat_relay_spill WHERE id = ?", String.class, id);
+        if (rows.isEmpty()) {
+            log.warn("Spilled chat push {} is gone, skipping it", id);
+            return null;
+        }
+        return objectMapper.readTree(rows.get(0));
+    }
+
+    record RelayEnvelope(Long userId, List<JsonNode> pushes) {
+    }
+
+    @FunctionalInterface
+    interface ListenConnector {
+        Connection connect() throws SQLException;
+    }
+}
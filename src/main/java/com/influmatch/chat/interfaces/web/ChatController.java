@@ -2,15 +2,20 @@ package com.influmatch.chat.interfaces.web;
 
 import com.influmatch.chat.application.dto.ChatListResponseDto;
 import com.influmatch.chat.application.dto.ChatMessagesResponseDto;
+import com.influmatch.chat.application.dto.ChatSyncResponseDto;
 import com.influmatch.chat.application.dto.MessageResponseDto;
 import com.influmatch.chat.application.dto.SendMessageRequestDto;
+import com.influmatch.chat.application.dto.UnreadCountDto;
 import com.influmatch.chat.application.service.ChatService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -29,7 +34,7 @@ public class ChatController {
         return ResponseEntity.ok(chatService.listChats());
     }
 
-    @PostMapping("/messages/{receiverId}")
+    @PostMapping(value = "/messages/{receiverId}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Send a message to a user")
     public ResponseEntity<MessageResponseDto> sendMessage(
             @PathVariable Long receiverId,
@@ -37,10 +42,44 @@ public class ChatController {
         return ResponseEntity.ok(chatService.sendMessage(receiverId, request));
     }
 
+    @PostMapping(value = "/messages/{receiverId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Send a message with a binary attachment",
+            description = "Same as the JSON variant, but the attachment is streamed as a file part instead of base64")
+    public ResponseEntity<MessageResponseDto> sendMessageWithAttachment(
+            @PathVariable Long receiverId,
+            @Parameter(description = "Text content of the message") @RequestParam(required = false) String content,
+            @Parameter(description = "Photo, video or document (jpg, png, gif, mp4, mov, avi, pdf, doc, docx)")
+            @RequestPart(required = false) MultipartFile attachment) {
+        return ResponseEntity.ok(chatService.sendMessage(receiverId, content, attachment));
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get the total number of unread messages across all chats",
+            description = "Served from memory; may lag other instances by a few seconds")
+    public ResponseEntity<UnreadCountDto> getUnreadCount() {
+        return ResponseEntity.ok(chatService.getUnreadCount());
+    }
+
+    @GetMapping("/sync")
+    @Operation(summary = "Get chat changes since a sync token",
+            description = "Without 'since' returns everything, in pages. Pass the returned nextToken on the next " +
+                    "call; when hasMore is true, call again right away. Does not mark anything as read")
+    public ResponseEntity<ChatSyncResponseDto> sync(
+            @Parameter(description = "Token from a previous sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum messages per call (default and max 500)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.sync(since, limit));
+    }
+
     @GetMapping("/{userId}/messages")
-    @Operation(summary = "Get messages from a chat with a specific user")
+    @Operation(summary = "Get messages from a chat with a specific user",
+            description = "Returns the latest page of messages, newest first. Use 'before' with the returned " +
+                    "beforeCursor to go back in history, or 'after' with afterCursor to fetch newer messages")
     public ResponseEntity<ChatMessagesResponseDto> getChatMessages(
-            @PathVariable Long userId) {
-        return ResponseEntity.ok(chatService.getChatMessages(userId));
+            @PathVariable Long userId,
+            @Parameter(description = "Only messages older than this cursor") @RequestParam(required = false) String before,
+            @Parameter(description = "Only messages newer than this cursor") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (default 50, max 200)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(chatService.getChatMessages(userId, before, after, limit));
     }
 } 
\ No newline at end of file
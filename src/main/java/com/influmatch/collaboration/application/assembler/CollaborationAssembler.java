@@ -7,7 +7,7 @@ import com.influmatch.collaboration.domain.model.valueobject.Budget;
 import com.influmatch.collaboration.domain.model.valueobject.Milestone;
 import com.influmatch.profile.domain.model.entity.BrandProfile;
 import com.influmatch.profile.domain.model.entity.InfluencerProfile;
-import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.application.service.MediaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -17,7 +17,7 @@ import java.util.stream.Collectors;
 @Component
 @RequiredArgsConstructor
 public class CollaborationAssembler {
-    private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
 
     public CollaborationListDto toListDto(Collaboration collaboration, String counterpartName) {
         return CollaborationListDto.builder()
@@ -55,7 +55,8 @@ public class CollaborationAssembler {
         return CounterpartDto.builder()
                 .id(profile.getUserId())
                 .name(profile.getName())
-                .photoUrl(fileStorageService.readFileAsBase64(profile.getLogoUrl()))
+                .photoUrl(mediaService.resolveThumbnail(profile.getLogoUrl()))
+                .photoMedia(mediaService.describeThumbnail(profile.getLogoUrl()))
                 .build();
     }
 
@@ -63,7 +64,8 @@ public class CollaborationAssembler {
         return CounterpartDto.builder()
                 .id(profile.getUserId())
                 .name(profile.getName())
-                .photoUrl(fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
+                .photoUrl(mediaService.resolveThumbnail(profile.getPhotoUrl()))
+                .photoMedia(mediaService.describeThumbnail(profile.getPhotoUrl()))
                 .build();
     }
 
@@ -1,6 +1,8 @@
 package com.influmatch.collaboration.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -33,9 +35,13 @@ public class CollaborationListDto {
     @Schema(description = "Nombre de la contraparte")
     private String counterpartName;
 
-    @Schema(description = "Foto de la contraparte en base64")
+    @Schema(description = "Foto de la contraparte: base64 (inline) o URL (reference)")
     private String counterpartPhotoUrl;
 
+    @Schema(description = "Referencia a la foto de la contraparte (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto counterpartPhotoMedia;
+
     @Schema(description = "Mensaje de la colaboración")
     private String message;
 
@@ -1,5 +1,7 @@
 package com.influmatch.collaboration.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +20,10 @@ public class CounterpartDto {
     @Schema(description = "Nombre de la contraparte")
     private String name;
 
-    @Schema(description = "URL de la foto de perfil en base64")
+    @Schema(description = "Foto de perfil: base64 (inline) o URL (reference)")
     private String photoUrl;
+
+    @Schema(description = "Referencia a la foto de perfil (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto photoMedia;
 } 
\ No newline at end of file
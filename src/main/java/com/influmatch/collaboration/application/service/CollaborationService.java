@@ -10,7 +10,8 @@ import com.influmatch.collaboration.domain.model.valueobject.ActionType;
 import com.influmatch.collaboration.domain.model.valueobject.CollaborationStatus;
 import com.influmatch.collaboration.domain.model.valueobject.Milestone;
 import com.influmatch.collaboration.domain.repository.CollaborationRepository;
-import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.application.service.MediaBatch;
+import com.influmatch.profile.application.service.MediaService;
 import com.influmatch.profile.domain.model.entity.BrandProfile;
 import com.influmatch.profile.domain.model.entity.InfluencerProfile;
 import com.influmatch.profile.domain.repository.BrandProfileRepository;
@@ -21,7 +22,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,7 +34,7 @@ public class CollaborationService {
     private final UserRepository userRepository;
     private final BrandProfileRepository brandProfileRepository;
     private final InfluencerProfileRepository influencerProfileRepository;
-    private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
 
     @Transactional
     public CollaborationDetailDto createCollaboration(CreateCollaborationRequest request) {
@@ -73,8 +76,15 @@ public class CollaborationService {
                 collaborationRepository.findAllByUserAndStatus(currentUser.getId(), status) :
                 collaborationRepository.findAllByUser(currentUser.getId());
 
+        // Primero se reúnen los IDs de las fotos para resolverlas todas juntas
+        Map<Long, String> photoIds = new HashMap<>();
+        collaborations.forEach(collaboration ->
+                photoIds.put(collaboration.getId(), getCounterpartPhotoFileId(collaboration, currentUser.getId())));
+        MediaBatch photos = mediaService.thumbnails(photoIds.values());
+
         return collaborations.stream()
-                .map(collaboration -> toCollaborationListDto(collaboration, currentUser.getId()))
+                .map(collaboration -> toCollaborationListDto(
+                        collaboration, currentUser.getId(), photoIds.get(collaboration.getId()), photos))
                 .collect(Collectors.toList());
     }
 
@@ -195,7 +205,8 @@ public class CollaborationService {
         }
     }
 
-    private CollaborationListDto toCollaborationListDto(Collaboration collaboration, Long currentUserId) {
+    private CollaborationListDto toCollaborationListDto(Collaboration collaboration, Long currentUserId,
+                                                        String counterpartPhotoId, MediaBatch photos) {
         return CollaborationListDto.builder()
                 .id(collaboration.getId())
                 .initiatorId(collaboration.getInitiatorId())
@@ -203,7 +214,8 @@ public class CollaborationService {
                 .initiatorRole(collaboration.getInitiatorRole().toString())
                 .status(collaboration.getStatus().toString())
                 .counterpartName(getCounterpartName(collaboration, currentUserId))
-                .counterpartPhotoUrl(getCounterpartPhotoUrl(collaboration, currentUserId))
+                .counterpartPhotoUrl(photos.resolve(counterpartPhotoId))
+                .counterpartPhotoMedia(photos.describe(counterpartPhotoId))
                 .message(collaboration.getMessage())
                 .actionType(collaboration.getActionType().toString())
                 .createdAt(collaboration.getCreatedAt())
@@ -264,7 +276,7 @@ public class CollaborationService {
         }
     }
 
-    private String getCounterpartPhotoUrl(Collaboration collaboration, Long currentUserId) {
+    private String getCounterpartPhotoFileId(Collaboration collaboration, Long currentUserId) {
         Long counterpartId;
         if (collaboration.getInitiatorId().equals(currentUserId)) {
             counterpartId = collaboration.getCounterpartId();
@@ -279,11 +291,11 @@ public class CollaborationService {
 
         if (counterpart.getRole() == UserRole.BRAND) {
             return brandProfileRepository.findByUserId(counterpartId)
-                    .map(profile -> fileStorageService.readFileAsBase64(profile.getLogoUrl()))
+                    .map(BrandProfile::getLogoUrl)
                     .orElse(null);
         } else {
             return influencerProfileRepository.findByUserId(counterpartId)
-                    .map(profile -> fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
+                    .map(InfluencerProfile::getPhotoUrl)
                     .orElse(null);
         }
     }
@@ -296,7 +308,8 @@ public class CollaborationService {
             return CounterpartDto.builder()
                     .id(profile.getUserId())
                     .name(profile.getName())
-                    .photoUrl(fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
+                    .photoUrl(mediaService.resolveThumbnail(profile.getPhotoUrl()))
+                    .photoMedia(mediaService.describeThumbnail(profile.getPhotoUrl()))
                     .build();
         } else {
             BrandProfile profile = brandProfileRepository.findByUserId(collaboration.getCounterpartId())
@@ -305,7 +318,8 @@ public class CollaborationService {
             return CounterpartDto.builder()
                     .id(profile.getUserId())
                     .name(profile.getName())
-                    .photoUrl(fileStorageService.readFileAsBase64(profile.getLogoUrl()))
+                    .photoUrl(mediaService.resolveThumbnail(profile.getLogoUrl()))
+                    .photoMedia(mediaService.describeThumbnail(profile.getLogoUrl()))
                     .build();
         }
     }
@@ -1,8 +1,10 @@
 package com.influmatch.dashboard.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.influmatch.shared.application.dto.AttachmentDto;
 import com.influmatch.shared.application.dto.LinkDto;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,9 +36,17 @@ public class DashboardBrandDetailDto {
     @Schema(description = "Logo de la marca en base64")
     private String logo;
 
+    @Schema(description = "Referencia al logo (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto logoMedia;
+
     @Schema(description = "Foto de perfil en base64")
     private String profilePhoto;
 
+    @Schema(description = "Referencia a la foto de perfil (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto profilePhotoMedia;
+
     @Schema(description = "Código de país ISO 3166-1 alpha-2")
     private String country;
 
@@ -1,5 +1,7 @@
 package com.influmatch.dashboard.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,9 +20,13 @@ public class DashboardBrandListDto {
     @Schema(description = "Nombre comercial de la marca")
     private String tradeName;
 
-    @Schema(description = "URL del logo de la marca en base64")
+    @Schema(description = "Logo de la marca: base64 (inline) o URL (reference)")
     private String logoUrl;
 
+    @Schema(description = "Referencia al logo de la marca (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto logoMedia;
+
     @Schema(description = "País de la marca")
     private String country;
 
@@ -1,8 +1,10 @@
 package com.influmatch.dashboard.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.influmatch.shared.application.dto.AttachmentDto;
 import com.influmatch.shared.application.dto.LinkDto;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import com.influmatch.shared.application.dto.SocialLinkDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -39,9 +41,17 @@ public class DashboardInfluencerDetailDto {
     @Schema(description = "Foto principal en base64")
     private String photo;
 
+    @Schema(description = "Referencia a la foto principal (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto photoMedia;
+
     @Schema(description = "Foto de perfil en base64")
     private String profilePhoto;
 
+    @Schema(description = "Referencia a la foto de perfil (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto profilePhotoMedia;
+
     @Schema(description = "Número de seguidores")
     private Integer followers;
 
@@ -1,5 +1,7 @@
 package com.influmatch.dashboard.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,9 +23,13 @@ public class DashboardInfluencerListDto {
     @Schema(description = "Biografía del influencer")
     private String bio;
 
-    @Schema(description = "URL de la foto del influencer en base64")
+    @Schema(description = "Foto del influencer: base64 (inline) o URL (reference)")
     private String photoUrl;
 
+    @Schema(description = "Referencia a la foto del influencer (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto photoMedia;
+
     @Schema(description = "País del influencer")
     private String country;
 
@@ -9,7 +9,8 @@ import com.influmatch.profile.domain.model.entity.InfluencerProfile;
 import com.influmatch.profile.domain.repository.BrandProfileRepository;
 import com.influmatch.profile.domain.repository.InfluencerProfileRepository;
 import com.influmatch.profile.domain.exception.ProfileNotFoundException;
-import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.application.service.MediaBatch;
+import com.influmatch.profile.application.service.MediaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -23,23 +24,27 @@ import java.util.stream.Collectors;
 public class DashboardService {
     private final BrandProfileRepository brandProfileRepository;
     private final InfluencerProfileRepository influencerProfileRepository;
-    private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
 
     @Transactional(readOnly = true)
     public List<DashboardInfluencerListDto> listInfluencers(int page, int size) {
-        return influencerProfileRepository.findAll(PageRequest.of(page, size))
-                .getContent()
-                .stream()
-                .map(this::toInfluencerListDto)
+        List<InfluencerProfile> profiles = influencerProfileRepository.findAll(PageRequest.of(page, size)).getContent();
+        MediaBatch photos = mediaService.thumbnails(profiles.stream()
+                .map(InfluencerProfile::getPhotoUrl)
+                .collect(Collectors.toList()));
+        return profiles.stream()
+                .map(profile -> toInfluencerListDto(profile, photos))
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<DashboardBrandListDto> listBrands(int page, int size) {
-        return brandProfileRepository.findAll(PageRequest.of(page, size))
-                .getContent()
-                .stream()
-                .map(this::toBrandListDto)
+        List<BrandProfile> profiles = brandProfileRepository.findAll(PageRequest.of(page, size)).getContent();
+        MediaBatch logos = mediaService.thumbnails(profiles.stream()
+                .map(BrandProfile::getLogoUrl)
+                .collect(Collectors.toList()));
+        return profiles.stream()
+                .map(profile -> toBrandListDto(profile, logos))
                 .collect(Collectors.toList());
     }
 
@@ -72,22 +77,24 @@ public class DashboardService {
         return toBrandDetailDto(profile);
     }
 
-    private DashboardBrandListDto toBrandListDto(BrandProfile profile) {
+    private DashboardBrandListDto toBrandListDto(BrandProfile profile, MediaBatch logos) {
         return DashboardBrandListDto.builder()
                 .userId(profile.getUserId())
                 .tradeName(profile.getName())
-                .logoUrl(fileStorageService.readFileAsBase64(profile.getLogoUrl()))
+                .logoUrl(logos.resolve(profile.getLogoUrl()))
+                .logoMedia(logos.describe(profile.getLogoUrl()))
                 .country(profile.getCountry().getValue())
                 .sector(profile.getSector())
                 .build();
     }
 
-    private DashboardInfluencerListDto toInfluencerListDto(InfluencerProfile profile) {
+    private DashboardInfluencerListDto toInfluencerListDto(InfluencerProfile profile, MediaBatch photos) {
         return DashboardInfluencerListDto.builder()
                 .userId(profile.getUserId())
                 .name(profile.getName())
                 .bio(profile.getBio())
-                .photoUrl(fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
+                .photoUrl(photos.resolve(profile.getPhotoUrl()))
+                .photoMedia(photos.describe(profile.getPhotoUrl()))
                 .country(profile.getCountry().getValue())
                 .mainNiche(profile.getNiches().stream().findFirst().orElse(null))
                 .followersCount(profile.getFollowers().longValue())
@@ -100,8 +107,10 @@ public class DashboardService {
                 .name(profile.getName())
                 .sector(profile.getSector())
                 .description(profile.getDescription())
-                .logo(fileStorageService.readFileAsBase64(profile.getLogoUrl()))
-                .profilePhoto(fileStorageService.readFileAsBase64(profile.getProfilePhotoUrl()))
+                .logo(mediaService.resolve(profile.getLogoUrl()))
+                .logoMedia(mediaService.describe(profile.getLogoUrl()))
+                .profilePhoto(mediaService.resolve(profile.getProfilePhotoUrl()))
+                .profilePhotoMedia(mediaService.describe(profile.getProfilePhotoUrl()))
                 .country(profile.getCountry().getValue())
                 .websiteUrl(profile.getWebsiteUrl())
                 .location(profile.getLocation())
@@ -116,7 +125,8 @@ public class DashboardService {
                                 .title(attachment.getTitle())
                                 .description(attachment.getDescription())
                                 .mediaType(attachment.getMediaType().toString())
-                                .data(fileStorageService.readFileAsBase64(attachment.getMediaUrl()))
+                                .data(mediaService.resolve(attachment.getMediaUrl()))
+                                .media(mediaService.describe(attachment.getMediaUrl()))
                                 .build())
                         .collect(Collectors.toList()))
                 .rating(0.0f)
@@ -132,8 +142,10 @@ public class DashboardService {
                 .niches(profile.getNiches().stream().toList())
                 .bio(profile.getBio())
                 .country(profile.getCountry().getValue())
-                .photo(fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
-                .profilePhoto(fileStorageService.readFileAsBase64(profile.getProfilePhotoUrl()))
+                .photo(mediaService.resolve(profile.getPhotoUrl()))
+                .photoMedia(mediaService.describe(profile.getPhotoUrl()))
+                .profilePhoto(mediaService.resolve(profile.getProfilePhotoUrl()))
+                .profilePhotoMedia(mediaService.describe(profile.getProfilePhotoUrl()))
                 .followers(profile.getFollowers())
                 .socialLinks(profile.getSocialLinks().stream()
                         .map(link -> SocialLinkDto.builder()
@@ -153,7 +165,8 @@ public class DashboardService {
                                 .title(attachment.getTitle())
                                 .description(attachment.getDescription())
                                 .mediaType(attachment.getMediaType().toString())
-                                .data(fileStorageService.readFileAsBase64(attachment.getMediaUrl()))
+                                .data(mediaService.resolve(attachment.getMediaUrl()))
+                                .media(mediaService.describe(attachment.getMediaUrl()))
                                 .build())
                         .collect(Collectors.toList()))
                 .rating(0.0f)
@@ -1,6 +1,8 @@
 package com.influmatch.profile.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.influmatch.profile.domain.model.valueobject.MediaType;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -28,4 +30,11 @@ public class AttachmentDto {
 
     @Schema(description = "Contenido del archivo en Base64")
     private String data;  // Base64 encoded data, optional when using multipart files
+
+    @Schema(description = "ID de un archivo ya subido con /api/files/uploads (alternativa a data)", example = "42")
+    private String fileId;
+
+    @Schema(description = "Referencia al archivo (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto media;
 } 
\ No newline at end of file
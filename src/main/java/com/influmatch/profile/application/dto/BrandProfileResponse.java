@@ -1,6 +1,8 @@
 package com.influmatch.profile.application.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.influmatch.shared.application.dto.MediaRefDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,9 +37,17 @@ public class BrandProfileResponse {
     @Schema(description = "Logo en base64")
     private String logo;
 
+    @Schema(description = "Referencia al logo (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto logoMedia;
+
     @Schema(description = "Foto de perfil en base64")
     private String profilePhoto;
 
+    @Schema(description = "Referencia a la foto de perfil (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto profilePhotoMedia;
+
     @Schema(description = "URL del sitio web")
     private String websiteUrl;
 
@@ -0,0 +1,26 @@
+package com.influmatch.profile.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Datos para iniciar una subida reanudable")
+public class CreateUploadSessionRequest {
+    @Schema(description = "Nombre original del archivo, con extensión", example = "reel-campaña.mp4")
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @Schema(description = "Tamaño total del archivo en bytes", example = "73400320")
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long size;
+}
@@ -0,0 +1,33 @@
+package com.influmatch.profile.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estado de una subida reanudable")
+public class UploadSessionResponse {
+    @Schema(description = "ID de la sesión de subida")
+    private String id;
+
+    @Schema(description = "Bytes recibidos hasta ahora; la siguiente parte debe empezar en este offset")
+    private Long offset;
+
+    @Schema(description = "Tamaño total declarado en bytes")
+    private Long size;
+
+    @Schema(description = "Fecha en que la sesión expira si no recibe más partes")
+    private Instant expiresAt;
+
+    @Schema(description = "ID del archivo creado (solo al finalizar); es el valor que se usa en los adjuntos")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String fileId;
+}
@@ -0,0 +1,9 @@
+package com.influmatch.profile.application.service;
+
+/**
+ * Decide si un usuario que no es el dueño puede leer un archivo por su ID. Cada módulo que guarda IDs
+ * de archivo aporta la suya; basta con que una lo permita.
+ */
+public interface FileAccessPolicy {
+    boolean canRead(String fileId, Long userId);
+}
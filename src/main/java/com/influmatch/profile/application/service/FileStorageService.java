@@ -2,13 +2,41 @@ package com.influmatch.profile.application.service;
 
 import com.influmatch.profile.domain.exception.ProfileException;
 import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.profile.domain.model.valueobject.StoredFileStatus;
 import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import com.influmatch.profile.infrastructure.repository.StoredFileVariantRepository;
+import com.influmatch.profile.infrastructure.storage.StoredFileMigrationJob;
+import com.influmatch.shared.infrastructure.security.SecurityUtils;
+import com.influmatch.shared.infrastructure.storage.CompressionPolicy;
+import com.influmatch.shared.infrastructure.storage.ContentCodec;
+import com.influmatch.shared.infrastructure.storage.ContentTypeSniffer;
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import com.influmatch.shared.infrastructure.storage.OffHeapMediaCache;
+import com.influmatch.shared.infrastructure.storage.StagedContent;
+import com.influmatch.shared.infrastructure.storage.StoredBlob;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -16,6 +44,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class FileStorageService {
     private final StoredFileRepository storedFileRepository;
+    private final BlobStore blobStore;
+    private final StoredFileMigrationJob migrationJob;
+    private final ImageVariantService imageVariantService;
+    private final SecurityUtils securityUtils;
+    private final OffHeapMediaCache mediaCache;
+    private final CompressionPolicy compressionPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StoredFileVariantRepository variantRepository;
+    private final List<FileAccessPolicy> accessPolicies;
+
+    @Value("${application.storage.processing.node-id}")
+    private String nodeId;
+
     private final Set<String> ALLOWED_IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif");
     private final Set<String> ALLOWED_VIDEO_EXTENSIONS = Set.of("mp4", "mov", "avi");
     private final Set<String> ALLOWED_DOCUMENT_EXTENSIONS = Set.of("pdf", "doc", "docx");
@@ -33,41 +74,191 @@ public class FileStorageService {
         String extension = getFileExtension(originalFilename);
         validateFileExtension(extension);
 
-        try {
-            String filename = generateUniqueFilename(file);
-            StoredFile storedFile = new StoredFile(
-                filename,
-                file.getContentType(),
-                file.getBytes()
-            );
-            StoredFile savedFile = storedFileRepository.save(storedFile);
-            return String.valueOf(savedFile.getId());
+        // Se lee del stream del multipart: el archivo nunca se carga completo en memoria
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            String mimeType = resolveMimeType(ContentTypeSniffer.sniff(in), extension);
+            StoredBlob blob = blobStore.store(in, compressionPolicy.codecFor(mimeType));
+            Long ownerId = securityUtils.findCurrentUserId().orElse(null);
+            return reuseExisting(ownerId, blob.getHash(), true)
+                    .orElseGet(() -> register(blob, generateUniqueFilename(file), mimeType, ownerId, 1));
         } catch (IOException e) {
             throw new RuntimeException("Could not store file", e);
         }
     }
 
-    public String storeBase64File(String base64Data, String extension) {
+    /**
+     * Registra contenido ya preparado en disco por BlobStore.stage (p. ej. adjuntos decodificados en streaming).
+     */
+    public String storeStaged(StagedContent staged, String mimeType) {
+        if (staged.getSize() == 0) {
+            blobStore.discard(staged);
+            throw new ProfileException("File is empty");
+        }
+        String extension = getExtensionForMimeType(mimeType);
+        validateFileExtension(extension);
+
+        String resolvedType;
+        try (InputStream in = Files.newInputStream(staged.getPath())) {
+            resolvedType = resolveMimeType(ContentTypeSniffer.sniff(in.readNBytes(ContentTypeSniffer.HEADER_LENGTH)), extension);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read staged file", e);
+        }
+
+        Long ownerId = securityUtils.findCurrentUserId().orElse(null);
+        Optional<String> existing = reuseExisting(ownerId, staged.getHash(), true);
+        if (existing.isPresent()) {
+            blobStore.discard(staged);
+            return existing.get();
+        }
+        StoredBlob blob;
+        try {
+            blob = blobStore.store(staged, compressionPolicy.codecFor(resolvedType));
+        } catch (RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
+        return register(blob, UUID.randomUUID() + "." + extension, resolvedType, ownerId, 1);
+    }
+
+    /**
+     * Copia el archivo al área temporal calculando el hash de paso, sin tocar la base de datos: se llama
+     * antes de abrir la transacción, para no ocupar una conexión del pool durante la copia.
+     */
+    public StagedUpload stageFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ProfileException("File is empty");
+        }
+        validateFilename(file.getOriginalFilename());
+        String extension = getFileExtension(file.getOriginalFilename());
+
+        try (InputStream in = file.getInputStream()) {
+            return new StagedUpload(blobStore.stage(in::transferTo), extension);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not stage file", e);
+        }
+    }
+
+    public StagedUpload stageBase64File(String base64Data, String extension) {
         if (base64Data == null || base64Data.isEmpty()) {
             throw new ProfileException("Base64 data is empty");
         }
-
         validateFileExtension(extension);
 
-        try {
-            String filename = UUID.randomUUID() + "." + extension;
-            String mimeType = getMimeTypeForExtension(extension);
-            
-            byte[] decodedData = Base64.getDecoder().decode(base64Data);
-            StoredFile storedFile = new StoredFile(filename, mimeType, decodedData);
-            StoredFile savedFile = storedFileRepository.save(storedFile);
-            
-            return String.valueOf(savedFile.getId());
-        } catch (IllegalArgumentException e) {
+        try (InputStream in = Base64.getDecoder().wrap(
+                new ByteArrayInputStream(base64Data.getBytes(StandardCharsets.US_ASCII)))) {
+            return new StagedUpload(blobStore.stage(in::transferTo), extension);
+        } catch (IOException e) {
+            // El decodificador en streaming informa de caracteres inválidos con IOException
             throw new ProfileException("Invalid Base64 data");
         }
     }
 
+    /**
+     * Acepta un archivo preparado sin procesarlo: reutiliza la fila con el mismo contenido o crea una en PENDING.
+     * Validación de contenido, compresión, guardado en el backend y miniaturas los hace UploadProcessingService
+     * después del commit. Si la transacción se deshace, el llamante descarta lo preparado con discard.
+     */
+    public String accept(StagedUpload upload) {
+        return accept(upload.content(), upload.extension());
+    }
+
+    public void discard(StagedUpload upload) {
+        if (upload != null) {
+            blobStore.discard(upload.content());
+        }
+    }
+
+    /**
+     * Procesa un archivo PENDING: valida el contenido real, lo guarda en el backend (comprimido si aplica)
+     * y lo deja READY, o FAILED si no pasa la validación. Cualquier otro error (backend o base de datos
+     * caídos) lo deja en PENDING con su contenido preparado, para que el barrido lo reintente.
+     */
+    public void processPending(Long fileId) {
+        StoredFile file = storedFileRepository.findById(fileId)
+                .filter(StoredFile::isPending)
+                .orElse(null);
+        if (file == null) {
+            return;
+        }
+
+        StagedContent staged = blobStore.staged(file.getStagingPath(), file.getContentHash(), file.getSizeBytes());
+        try {
+            String extension = getFileExtension(file.getFileName());
+            String mimeType;
+            try (InputStream in = Files.newInputStream(staged.getPath())) {
+                mimeType = resolveMimeType(ContentTypeSniffer.sniff(in.readNBytes(ContentTypeSniffer.HEADER_LENGTH)), extension);
+            }
+            StoredBlob blob = blobStore.store(staged, compressionPolicy.codecFor(mimeType));
+            file.markReady(blob.getPath(), mimeType);
+            if (blob.getCodec() != ContentCodec.IDENTITY) {
+                file.storedEncoded(blob.getCodec().getContentEncoding(), blob.getStoredSize());
+                compressionPolicy.record(blob);
+            }
+            StoredFile savedFile = storedFileRepository.save(file);
+            imageVariantService.scheduleVariants(savedFile);
+        } catch (ProfileException e) {
+            fail(file, staged, e.getMessage());
+            throw e;
+        } catch (NoSuchFileException e) {
+            // El contenido preparado ya no existe: no hay nada que reintentar
+            fail(file, staged, "Staged content lost");
+            throw new IllegalStateException("Staged content of stored file " + fileId + " is missing", e);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Could not process stored file " + fileId + ", will retry", e);
+        }
+    }
+
+    private void fail(StoredFile file, StagedContent staged, String reason) {
+        blobStore.discard(staged);
+        file.markFailed(reason);
+        storedFileRepository.save(file);
+    }
+
+    public void validateFilename(String originalFilename) {
+        if (originalFilename == null) {
+            throw new ProfileException("Original filename is null");
+        }
+        validateFileExtension(getFileExtension(originalFilename));
+    }
+
+    /**
+     * Registra como StoredFile el archivo parcial de una subida reanudable ya completa.
+     */
+    public String storeCompletedUpload(String originalFilename, String partialPath) {
+        String extension = getFileExtension(originalFilename);
+        validateFileExtension(extension);
+
+        String mimeType;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(blobStore.resolvePartial(partialPath)))) {
+            mimeType = resolveMimeType(ContentTypeSniffer.sniff(in), extension);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read upload " + partialPath, e);
+        }
+
+        StoredBlob blob = blobStore.promote(partialPath, compressionPolicy.codecFor(mimeType));
+        // Sin referencias hasta que un perfil lo use como adjunto
+        Long ownerId = securityUtils.findCurrentUserId().orElse(null);
+        return reuseExisting(ownerId, blob.getHash(), false)
+                .orElseGet(() -> register(blob, UUID.randomUUID() + "." + extension, mimeType, ownerId, 0));
+    }
+
+    /**
+     * Suma una referencia a un archivo existente (p. ej. un adjunto que apunta a una subida previa).
+     */
+    public void retain(String fileId) {
+        parseId(fileId).ifPresent(storedFileRepository::incrementRefCount);
+    }
+
+    /**
+     * Quita una referencia. Los archivos sin referencias los elimina el recolector en segundo plano.
+     */
+    public void release(String fileId) {
+        parseId(fileId).ifPresent(id -> {
+            storedFileRepository.decrementRefCount(id);
+            mediaCache.invalidateFile(id);
+        });
+    }
+
     public String readFileAsBase64(String fileId) {
         if (fileId == null || fileId.isEmpty()) {
             return null;
@@ -75,17 +266,207 @@ public class FileStorageService {
 
         try {
             Long id = Long.parseLong(fileId);
+            String cacheKey = OffHeapMediaCache.base64Key(id);
+            ByteBuffer cached = mediaCache.get(cacheKey);
+            if (cached != null) {
+                return toAsciiString(cached);
+            }
+
             StoredFile file = storedFileRepository.findById(id)
                 .orElse(null);
             if (file == null) {
                 return null;
             }
-            return Base64.getEncoder().encodeToString(file.getData());
+            file = migrationJob.ensureMigrated(file);
+            if (!file.isMigrated()) {
+                return null;
+            }
+            ByteBuffer encoded = Base64.getEncoder().encode(blobStore.read(file.getStoragePath(), codecOf(file)));
+            mediaCache.put(cacheKey, encoded);
+            return new String(encoded.array(), StandardCharsets.US_ASCII);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Versión por lotes de readFileAsBase64 para listados: lo que no está en caché se carga
+     * con una sola consulta IN. Los IDs inexistentes o inválidos no aparecen en el resultado.
+     */
+    public Map<String, String> readMany(Collection<String> fileIds) {
+        Map<String, String> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : parseIds(fileIds)) {
+            ByteBuffer cached = mediaCache.get(OffHeapMediaCache.base64Key(id));
+            if (cached != null) {
+                result.put(String.valueOf(id), toAsciiString(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (StoredFile file : storedFileRepository.findAllById(missing)) {
+            StoredFile migrated = migrationJob.ensureMigrated(file);
+            if (!migrated.isMigrated()) {
+                continue;
+            }
+            ByteBuffer encoded = Base64.getEncoder().encode(blobStore.read(migrated.getStoragePath(), codecOf(migrated)));
+            mediaCache.put(OffHeapMediaCache.base64Key(migrated.getId()), encoded);
+            result.put(String.valueOf(migrated.getId()), new String(encoded.array(), StandardCharsets.US_ASCII));
+        }
+        return result;
+    }
+
+    /**
+     * Metadatos de varios archivos en una sola consulta, indexados por ID.
+     * Incluye los PENDING y FAILED, que aún no se pueden servir pero sí informar.
+     */
+    public Map<String, StoredFile> findStoredFiles(Collection<String> fileIds) {
+        Set<Long> ids = parseIds(fileIds);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, StoredFile> result = new HashMap<>();
+        for (StoredFile file : storedFileRepository.findAllById(ids)) {
+            StoredFile migrated = migrationJob.ensureMigrated(file);
+            if (migrated.isMigrated() || migrated.getStatus() != StoredFileStatus.READY) {
+                result.put(String.valueOf(migrated.getId()), migrated);
+            }
+        }
+        return result;
+    }
+
+    public Optional<StoredFile> findStoredFile(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return storedFileRepository.findById(Long.parseLong(fileId))
+                .map(migrationJob::ensureMigrated)
+                .filter(StoredFile::isMigrated);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Como findStoredFile, pero solo si el usuario puede leerlo: es el dueño o alguna FileAccessPolicy lo
+     * permite. Las miniaturas heredan el acceso de su original.
+     */
+    public Optional<StoredFile> findReadableStoredFile(String fileId, Long userId) {
+        return findStoredFile(fileId).filter(file -> canRead(file, userId));
+    }
+
+    private boolean canRead(StoredFile file, Long userId) {
+        if (userId.equals(file.getOwnerId())) {
+            return true;
+        }
+        Optional<StoredFile> source = variantRepository.findFirstByVariantFileId(file.getId())
+                .flatMap(variant -> storedFileRepository.findById(variant.getSourceFileId()));
+        if (source.isPresent() && userId.equals(source.get().getOwnerId())) {
+            return true;
+        }
+        String id = String.valueOf(source.map(StoredFile::getId).orElse(file.getId()));
+        return accessPolicies.stream().anyMatch(policy -> policy.canRead(id, userId));
+    }
+
+    /**
+     * Ruta en disco del blob tal como está guardado (comprimido si isEncoded); vacío si el backend no es local.
+     */
+    public Optional<Path> localPath(StoredFile file) {
+        return blobStore.localPath(file.getStoragePath());
+    }
+
+    /**
+     * Rango del contenido original; los archivos comprimidos se descomprimen en streaming.
+     */
+    public InputStream openContent(StoredFile file, long offset, long length) {
+        return blobStore.open(file.getStoragePath(), codecOf(file), file.getStoredSize(), offset, length);
+    }
+
+    /**
+     * Rango de los bytes guardados, sin decodificar, para servirlos con su Content-Encoding.
+     */
+    public InputStream openStoredContent(StoredFile file, long offset, long length) {
+        return blobStore.open(file.getStoragePath(), offset, length);
+    }
+
+    private String accept(StagedContent staged, String extension) {
+        if (staged.getSize() == 0) {
+            blobStore.discard(staged);
+            throw new ProfileException("File is empty");
+        }
+        Long ownerId = securityUtils.findCurrentUserId().orElse(null);
+        Optional<String> existing = reuseExisting(ownerId, staged.getHash(), true);
+        if (existing.isPresent()) {
+            blobStore.discard(staged);
+            return existing.get();
+        }
+
+        StoredFile file = new StoredFile(UUID.randomUUID() + "." + extension, getMimeTypeForExtension(extension),
+                staged.getSize(), staged.getHash(), null, ownerId, 1);
+        file.markPending(blobStore.stagingPath(staged), nodeId);
+        StoredFile savedFile = storedFileRepository.save(file);
+        eventPublisher.publishEvent(new StoredFileAcceptedEvent(savedFile.getId()));
+        return String.valueOf(savedFile.getId());
+    }
+
+    private Optional<String> reuseExisting(Long ownerId, String hash, boolean addReference) {
+        if (ownerId == null) {
+            return Optional.empty();
+        }
+        return storedFileRepository.findFirstByOwnerIdAndContentHashOrderByIdAsc(ownerId, hash)
+                .filter(file -> file.isMigrated() || file.isPending())
+                // Si el recolector borró la fila entre la búsqueda y el UPDATE, se crea una nueva
+                .filter(existing -> !addReference || storedFileRepository.incrementRefCount(existing.getId()) > 0)
+                .map(existing -> String.valueOf(existing.getId()));
+    }
+
+    private String register(StoredBlob blob, String filename, String mimeType, Long ownerId, int refCount) {
+        StoredFile storedFile = new StoredFile(
+                filename, mimeType, blob.getSize(), blob.getHash(), blob.getPath(), ownerId, refCount);
+        if (blob.getCodec() != ContentCodec.IDENTITY) {
+            storedFile.storedEncoded(blob.getCodec().getContentEncoding(), blob.getStoredSize());
+            compressionPolicy.record(blob);
+        }
+        StoredFile savedFile = storedFileRepository.save(storedFile);
+        imageVariantService.scheduleVariants(savedFile);
+        return String.valueOf(savedFile.getId());
+    }
+
+    private ContentCodec codecOf(StoredFile file) {
+        return ContentCodec.fromContentEncoding(file.getContentEncoding());
+    }
+
+    private String toAsciiString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private Set<Long> parseIds(Collection<String> fileIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String fileId : fileIds) {
+            parseId(fileId).ifPresent(ids::add);
+        }
+        return ids;
+    }
+
+    private Optional<Long> parseId(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(fileId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
     private String generateUniqueFilename(MultipartFile file) {
         String originalFilename = file.getOriginalFilename();
         String extension = getFileExtension(originalFilename);
@@ -108,6 +489,43 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Valida que el contenido real coincida con la extensión declarada.
+     * Si la firma no es reconocible se usa el MIME de la extensión.
+     */
+    private String resolveMimeType(String sniffedType, String extension) {
+        String declaredType = getMimeTypeForExtension(extension);
+        if (sniffedType == null || sniffedType.equals(declaredType)) {
+            return declaredType;
+        }
+        // Los .docx son contenedores zip
+        if (extension.equals("docx") && sniffedType.equals("application/zip")) {
+            return declaredType;
+        }
+        if (ALLOWED_IMAGE_EXTENSIONS.contains(extension) && sniffedType.startsWith("image/")) {
+            return sniffedType;
+        }
+        if (ALLOWED_VIDEO_EXTENSIONS.contains(extension) && sniffedType.startsWith("video/")) {
+            return sniffedType;
+        }
+        throw new ProfileException("File content does not match extension: " + extension);
+    }
+
+    private String getExtensionForMimeType(String mimeType) {
+        return switch (mimeType == null ? "" : mimeType.toLowerCase()) {
+            case "image/jpeg" -> "jpg";
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            case "video/mp4" -> "mp4";
+            case "video/quicktime" -> "mov";
+            case "video/x-msvideo" -> "avi";
+            case "application/pdf" -> "pdf";
+            case "application/msword" -> "doc";
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> "docx";
+            default -> throw new ProfileException("File type not allowed: " + mimeType);
+        };
+    }
+
     private String getMimeTypeForExtension(String extension) {
         return switch (extension.toLowerCase()) {
             case "jpg", "jpeg" -> "image/jpeg";
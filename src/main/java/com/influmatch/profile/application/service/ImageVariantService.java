@@ -0,0 +1,254 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.profile.domain.model.entity.StoredFileVariant;
+import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import com.influmatch.profile.infrastructure.repository.StoredFileVariantRepository;
+import com.influmatch.profile.infrastructure.storage.ImageVariantRenderer;
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import com.influmatch.shared.infrastructure.storage.ContentCodec;
+import com.influmatch.shared.infrastructure.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Genera y localiza las miniaturas de las imágenes almacenadas.
+ * La generación corre en un pool propio; mientras no existe la miniatura se sirve el original.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+    private final StoredFileRepository storedFileRepository;
+    private final StoredFileVariantRepository variantRepository;
+    private final BlobStore blobStore;
+    private final ThreadPoolTaskExecutor executor;
+
+    // Imágenes con generación en curso, para no encolar la misma dos veces
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // Archivos con MIME de imagen que ImageIO no sabe decodificar -> instante (nanoTime) hasta el que no se reintentan
+    private final ConcurrentHashMap<Long, Long> unreadable = new ConcurrentHashMap<>();
+
+    @Value("${application.media.thumbnails.sizes}")
+    private int[] sizes;
+
+    @Value("${application.media.thumbnails.list-size}")
+    private int listSize;
+
+    @Value("${application.media.thumbnails.quality}")
+    private float quality;
+
+    @Value("${application.media.thumbnails.unreadable-ttl}")
+    private Duration unreadableTtl;
+
+    @Value("${application.media.thumbnails.unreadable-max-entries}")
+    private int unreadableMaxEntries;
+
+    public ImageVariantService(StoredFileRepository storedFileRepository,
+                               StoredFileVariantRepository variantRepository,
+                               BlobStore blobStore,
+                               @Qualifier("imageVariantExecutor") ThreadPoolTaskExecutor executor) {
+        this.storedFileRepository = storedFileRepository;
+        this.variantRepository = variantRepository;
+        this.blobStore = blobStore;
+        this.executor = executor;
+    }
+
+    public static boolean isImage(StoredFile file) {
+        return file.getMimeType() != null && file.getMimeType().startsWith("image/");
+    }
+
+    /**
+     * Encola la generación de miniaturas. Si hay una transacción activa se espera al commit,
+     * porque el pool no vería todavía la fila de stored_files.
+     */
+    public void scheduleVariants(StoredFile file) {
+        if (!isImage(file)) {
+            return;
+        }
+        Long fileId = file.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(fileId);
+                }
+            });
+        } else {
+            submit(fileId);
+        }
+    }
+
+    /**
+     * ID de la miniatura usada en listados, o el ID original si aún no existe.
+     */
+    public String listVariantId(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return fileId;
+        }
+        try {
+            Long sourceId = Long.parseLong(fileId);
+            Optional<StoredFileVariant> variant = variantRepository.findBySourceFileIdAndWidth(sourceId, listSize);
+            if (variant.isPresent()) {
+                return String.valueOf(variant.get().getVariantFileId());
+            }
+            // Imágenes anteriores a las miniaturas: se generan en segundo plano la primera vez que se listan
+            storedFileRepository.findById(sourceId)
+                    .filter(ImageVariantService::isImage)
+                    .ifPresent(file -> submit(file.getId()));
+            return fileId;
+        } catch (NumberFormatException e) {
+            return fileId;
+        }
+    }
+
+    /**
+     * Versión por lotes de listVariantId: una consulta para las miniaturas y otra para los originales sin ella.
+     * Devuelve ID original -> ID a servir.
+     */
+    public Map<String, String> listVariantIds(Collection<String> fileIds) {
+        Map<String, String> result = new HashMap<>();
+        Set<Long> sourceIds = new HashSet<>();
+        for (String fileId : fileIds) {
+            if (fileId == null || fileId.isEmpty()) {
+                continue;
+            }
+            result.put(fileId, fileId);
+            try {
+                sourceIds.add(Long.parseLong(fileId));
+            } catch (NumberFormatException ignored) {
+                // Se sirve tal cual
+            }
+        }
+        if (sourceIds.isEmpty()) {
+            return result;
+        }
+
+        for (StoredFileVariant variant : variantRepository.findBySourceFileIdInAndWidth(sourceIds, listSize)) {
+            result.put(String.valueOf(variant.getSourceFileId()), String.valueOf(variant.getVariantFileId()));
+            sourceIds.remove(variant.getSourceFileId());
+        }
+        sourceIds.removeIf(this::isUnreadable);
+        if (!sourceIds.isEmpty()) {
+            storedFileRepository.findAllById(sourceIds).stream()
+                    .filter(ImageVariantService::isImage)
+                    .forEach(file -> submit(file.getId()));
+        }
+        return result;
+    }
+
+    private void submit(Long fileId) {
+        if (isUnreadable(fileId) || !inFlight.add(fileId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(fileId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not generate thumbnails for stored file {}", fileId, e);
+                } finally {
+                    inFlight.remove(fileId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Cola llena: se vuelve a pedir la próxima vez que se lea la imagen
+            inFlight.remove(fileId);
+            log.debug("Thumbnail queue full, skipping stored file {} for now", fileId);
+        } catch (RuntimeException e) {
+            inFlight.remove(fileId);
+            throw e;
+        }
+    }
+
+    private boolean isUnreadable(Long fileId) {
+        Long until = unreadable.get(fileId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until > 0) {
+            unreadable.remove(fileId, until);
+            return false;
+        }
+        return true;
+    }
+
+    private void markUnreadable(Long fileId) {
+        long now = System.nanoTime();
+        if (unreadable.size() >= unreadableMaxEntries) {
+            unreadable.values().removeIf(until -> now - until > 0);
+            if (unreadable.size() >= unreadableMaxEntries) {
+                // Lleno de entradas vigentes: se pierde como mucho un reintento inútil por archivo
+                unreadable.clear();
+            }
+        }
+        unreadable.put(fileId, now + unreadableTtl.toNanos());
+    }
+
+    void generateVariants(Long fileId) {
+        StoredFile source = storedFileRepository.findById(fileId)
+                .filter(StoredFile::isMigrated)
+                .orElse(null);
+        if (source == null || !isImage(source)) {
+            return;
+        }
+
+        List<Integer> existing = variantRepository.findBySourceFileId(fileId).stream()
+                .map(StoredFileVariant::getWidth)
+                .toList();
+        int[] missing = Arrays.stream(sizes).filter(size -> !existing.contains(size)).toArray();
+        if (missing.length == 0) {
+            return;
+        }
+
+        try (InputStream in = blobStore.open(source.getStoragePath(),
+                ContentCodec.fromContentEncoding(source.getContentEncoding()), source.getStoredSize(), 0, source.getSizeBytes())) {
+            BufferedImage image = ImageVariantRenderer.read(in, Arrays.stream(missing).max().getAsInt());
+            if (image == null) {
+                markUnreadable(fileId);
+                log.debug("Stored file {} is not a readable image, skipping thumbnails", fileId);
+                return;
+            }
+            for (int size : missing) {
+                byte[] jpeg = ImageVariantRenderer.encodeJpeg(ImageVariantRenderer.squareThumbnail(image, size), quality);
+                StoredBlob blob = blobStore.store(jpeg);
+                StoredFile variantFile = storedFileRepository.save(new StoredFile(
+                        fileId + "_" + size + ".jpg", "image/jpeg", blob.getSize(), blob.getHash(), blob.getPath()));
+                try {
+                    variantRepository.save(new StoredFileVariant(fileId, size, variantFile.getId()));
+                } catch (DataIntegrityViolationException e) {
+                    // Otro nodo generó la misma miniatura; la nuestra queda huérfana para el GC
+                    log.debug("Thumbnail {}px for stored file {} already exists", size, fileId);
+                }
+            }
+        } catch (IIOException e) {
+            // Contenido que ImageIO no sabe decodificar; reintentarlo daría el mismo resultado
+            markUnreadable(fileId);
+            log.warn("Could not decode image {} for thumbnails: {}", fileId, e.getMessage());
+        } catch (IOException e) {
+            // Fallo al leer el blob: se reintenta la próxima vez que se pida
+            log.warn("Could not read image {} for thumbnails: {}", fileId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.shared.application.dto.MediaRefDto;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Medios de un listado ya resueltos por lotes. Se consulta con el ID original del perfil;
+ * internamente puede apuntar a la miniatura.
+ */
+public class MediaBatch {
+    private final MediaMode mode;
+    private final Map<String, String> servedIds;
+    private final Map<String, String> base64ById;
+    private final Map<String, StoredFile> filesById;
+    private final Function<StoredFile, String> urlBuilder;
+
+    MediaBatch(MediaMode mode,
+               Map<String, String> servedIds,
+               Map<String, String> base64ById,
+               Map<String, StoredFile> filesById,
+               Function<StoredFile, String> urlBuilder) {
+        this.mode = mode;
+        this.servedIds = servedIds;
+        this.base64ById = base64ById;
+        this.filesById = filesById;
+        this.urlBuilder = urlBuilder;
+    }
+
+    /**
+     * Equivalente a {@link MediaService#resolve(String)} sin acceder a la base de datos.
+     */
+    public String resolve(String fileId) {
+        String servedId = servedId(fileId);
+        if (servedId == null) {
+            return null;
+        }
+        if (mode != MediaMode.REFERENCE) {
+            return base64ById.get(servedId);
+        }
+        StoredFile file = filesById.get(servedId);
+        return file != null && file.isMigrated() ? urlBuilder.apply(file) : null;
+    }
+
+    /**
+     * Equivalente a {@link MediaService#describe(String)} sin acceder a la base de datos.
+     */
+    public MediaRefDto describe(String fileId) {
+        String servedId = servedId(fileId);
+        if (servedId == null || mode != MediaMode.REFERENCE) {
+            return null;
+        }
+        StoredFile file = filesById.get(servedId);
+        return file != null ? toRef(servedId, file, urlBuilder) : null;
+    }
+
+    static MediaRefDto toRef(String fileId, StoredFile file, Function<StoredFile, String> urlBuilder) {
+        return MediaRefDto.builder()
+                .id(fileId)
+                .url(file.isMigrated() ? urlBuilder.apply(file) : null)
+                .mimeType(file.getMimeType())
+                .size(file.getSizeBytes())
+                .status(file.getStatus().name())
+                .build();
+    }
+
+    private String servedId(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return null;
+        }
+        return servedIds.getOrDefault(fileId, fileId);
+    }
+}
@@ -0,0 +1,21 @@
+package com.influmatch.profile.application.service;
+
+/**
+ * Cómo se representan los archivos en las respuestas.
+ * INLINE: contenido en base64. REFERENCE: URL/ID con tamaño y tipo MIME.
+ */
+public enum MediaMode {
+    INLINE,
+    REFERENCE;
+
+    public static MediaMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return MediaMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
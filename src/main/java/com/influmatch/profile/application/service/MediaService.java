@@ -0,0 +1,131 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.shared.application.dto.MediaRefDto;
+import com.influmatch.shared.infrastructure.storage.ContentCodec;
+import com.influmatch.shared.infrastructure.storage.MediaUrlSigner;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resuelve los campos de medios de los DTOs según el modo negociado en la petición:
+ * parámetro {@code ?media=inline|reference} o cabecera {@code X-Media-Mode}.
+ */
+@Service
+@RequiredArgsConstructor
+public class MediaService {
+    public static final String MEDIA_MODE_HEADER = "X-Media-Mode";
+    public static final String MEDIA_MODE_PARAM = "media";
+
+    private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final MediaUrlSigner mediaUrlSigner;
+
+    @Value("${application.media.default-mode}")
+    private String defaultModeValue;
+
+    /**
+     * Valor del campo string existente: base64 en modo INLINE, URL firmada del archivo en modo REFERENCE.
+     */
+    public String resolve(String fileId) {
+        if (fileId == null || fileId.isEmpty()) {
+            return null;
+        }
+        if (currentMode() == MediaMode.REFERENCE) {
+            return fileStorageService.findStoredFile(fileId).map(this::fileUrl).orElse(null);
+        }
+        return fileStorageService.readFileAsBase64(fileId);
+    }
+
+    /**
+     * Referencia completa (URL, tamaño, MIME y estado). Solo se rellena en modo REFERENCE.
+     * Los archivos aún en proceso se describen sin URL.
+     */
+    public MediaRefDto describe(String fileId) {
+        if (fileId == null || fileId.isEmpty() || currentMode() != MediaMode.REFERENCE) {
+            return null;
+        }
+        StoredFile file = fileStorageService.findStoredFiles(List.of(fileId)).get(fileId);
+        return file != null ? MediaBatch.toRef(fileId, file, this::fileUrl) : null;
+    }
+
+    /**
+     * Igual que {@link #resolve(String)}, pero con la miniatura para listados (avatares, logos).
+     */
+    public String resolveThumbnail(String fileId) {
+        return resolve(imageVariantService.listVariantId(fileId));
+    }
+
+    public MediaRefDto describeThumbnail(String fileId) {
+        if (currentMode() != MediaMode.REFERENCE) {
+            return null;
+        }
+        return describe(imageVariantService.listVariantId(fileId));
+    }
+
+    /**
+     * Resuelve de una vez los medios de un listado usando las miniaturas: en vez de una consulta por fila,
+     * una consulta IN para miniaturas y otra para el contenido o los metadatos.
+     */
+    public MediaBatch thumbnails(Collection<String> fileIds) {
+        return batch(imageVariantService.listVariantIds(fileIds));
+    }
+
+    public MediaBatch files(Collection<String> fileIds) {
+        Map<String, String> servedIds = new HashMap<>();
+        fileIds.stream()
+                .filter(id -> id != null && !id.isEmpty())
+                .forEach(id -> servedIds.put(id, id));
+        return batch(servedIds);
+    }
+
+    private MediaBatch batch(Map<String, String> servedIds) {
+        MediaMode mode = currentMode();
+        Collection<String> ids = servedIds.values();
+        if (mode == MediaMode.REFERENCE) {
+            return new MediaBatch(mode, servedIds, Map.of(), fileStorageService.findStoredFiles(ids), this::fileUrl);
+        }
+        return new MediaBatch(mode, servedIds, fileStorageService.readMany(ids), Map.of(), this::fileUrl);
+    }
+
+    public MediaMode currentMode() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return defaultMode();
+        }
+        HttpServletRequest request = attributes.getRequest();
+        MediaMode requested = MediaMode.from(request.getParameter(MEDIA_MODE_PARAM));
+        if (requested == null) {
+            requested = MediaMode.from(request.getHeader(MEDIA_MODE_HEADER));
+        }
+        return requested != null ? requested : defaultMode();
+    }
+
+    private MediaMode defaultMode() {
+        MediaMode mode = MediaMode.from(defaultModeValue);
+        return mode != null ? mode : MediaMode.INLINE;
+    }
+
+    /**
+     * URL firmada de /media cuando el archivo lo permite (se sirve sin JWT ni base de datos);
+     * si no, la de /api/files.
+     */
+    private String fileUrl(StoredFile file) {
+        String path = mediaUrlSigner.sign(file.getStoragePath(), file.getContentHash(), file.getFileName(),
+                        ContentCodec.fromContentEncoding(file.getContentEncoding()), file.getStoredSize())
+                .orElse("/api/files/" + file.getId());
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes) {
+            return ServletUriComponentsBuilder.fromCurrentContextPath().toUriString() + path;
+        }
+        return path;
+    }
+}
@@ -21,10 +21,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,8 +39,9 @@ public class ProfileService {
     private final InfluencerProfileRepository influencerProfileRepository;
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
+    private final MediaService mediaService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     public BrandProfileResponse createBrandProfile(CreateBrandProfileRequest request, MultipartFile logo, MultipartFile profilePhoto) {
         // Validar rol y existencia de perfil antes de procesar archivos
         User user = getCurrentUser();
@@ -46,133 +52,92 @@ public class ProfileService {
             throw new ProfileAlreadyExistsException("Profile already exists for user ID: " + user.getId());
         }
 
-        BrandProfile profile = new BrandProfile(
-            request.getName(),
-            request.getSector(),
-            new Country(request.getCountry()),
-            request.getDescription(),
-            user.getId()
-        );
-
-        if (logo != null) {
-            profile.updateLogoUrl(fileStorageService.storeFile(logo));
-        } else if (request.getLogo() != null) {
-            profile.updateLogoUrl(fileStorageService.storeBase64File(request.getLogo(), "png"));
-        }
-
-        if (profilePhoto != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeFile(profilePhoto));
-        } else if (request.getProfilePhoto() != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeBase64File(request.getProfilePhoto(), "png"));
-        }
+        return withStagedFiles(staged -> {
+            staged.photo = stage(logo, request.getLogo());
+            staged.profilePhoto = stage(profilePhoto, request.getProfilePhoto());
+            stageAttachments(staged, request.getAttachments());
+        }, staged -> {
+            BrandProfile profile = new BrandProfile(
+                request.getName(),
+                request.getSector(),
+                new Country(request.getCountry()),
+                request.getDescription(),
+                user.getId()
+            );
+
+            if (staged.photo != null) {
+                profile.updateLogoUrl(fileStorageService.accept(staged.photo));
+            }
+            if (staged.profilePhoto != null) {
+                profile.updateProfilePhotoUrl(fileStorageService.accept(staged.profilePhoto));
+            }
 
-        profile.updateWebsiteUrl(request.getWebsiteUrl());
-        profile.updateLocation(request.getLocation());
-        profile.setLinks(request.getLinks().stream()
-                .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
-                .collect(Collectors.toList()));
+            profile.updateWebsiteUrl(request.getWebsiteUrl());
+            profile.updateLocation(request.getLocation());
+            profile.setLinks(request.getLinks().stream()
+                    .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
+                    .collect(Collectors.toList()));
 
-        List<Attachment> attachments = request.getAttachments().stream()
-                .map(dto -> new Attachment(
-                    dto.getTitle(),
-                    dto.getDescription(),
-                    dto.getMediaType(),
-                    fileStorageService.storeBase64File(dto.getData(), getExtensionForMediaType(dto.getMediaType()))
-                ))
-                .collect(Collectors.toList());
-        profile.setAttachments(attachments);
+            List<Attachment> attachments = request.getAttachments().stream()
+                    .map(dto -> new Attachment(
+                        dto.getTitle(),
+                        dto.getDescription(),
+                        dto.getMediaType(),
+                        storeAttachment(dto, staged, user.getId())
+                    ))
+                    .collect(Collectors.toList());
+            profile.setAttachments(attachments);
 
-        BrandProfile savedProfile = brandProfileRepository.save(profile);
-        user.markProfileAsCompleted();
-        userRepository.save(user);
+            BrandProfile savedProfile = brandProfileRepository.save(profile);
+            user.markProfileAsCompleted();
+            userRepository.save(user);
 
-        return toBrandProfileResponse(savedProfile);
+            return toBrandProfileResponse(savedProfile);
+        });
     }
 
-    @Transactional
     public InfluencerProfileResponse createInfluencerProfile(CreateInfluencerProfileRequest request, MultipartFile photo, MultipartFile profilePhoto, List<MultipartFile> attachmentFiles) {
         User user = getCurrentUser();
         validateUserRole(user, UserRole.INFLUENCER);
         validateProfileDoesNotExist(user.getId());
 
-        InfluencerProfile profile = new InfluencerProfile(
-            request.getName(),
-            request.getNiches(),
-            request.getBio(),
-            new Country(request.getCountry()),
-            request.getFollowers(),
-            user.getId()
-        );
-
-        if (photo != null) {
-            profile.updatePhotoUrl(fileStorageService.storeFile(photo));
-        } else if (request.getPhoto() != null) {
-            profile.updatePhotoUrl(fileStorageService.storeBase64File(request.getPhoto(), "png"));
-        }
-
-        if (profilePhoto != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeFile(profilePhoto));
-        } else if (request.getProfilePhoto() != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeBase64File(request.getProfilePhoto(), "png"));
-        }
+        return withStagedFiles(staged -> {
+            staged.photo = stage(photo, request.getPhoto());
+            staged.profilePhoto = stage(profilePhoto, request.getProfilePhoto());
+            stageInfluencerAttachments(staged, request, attachmentFiles);
+        }, staged -> {
+            InfluencerProfile profile = new InfluencerProfile(
+                request.getName(),
+                request.getNiches(),
+                request.getBio(),
+                new Country(request.getCountry()),
+                request.getFollowers(),
+                user.getId()
+            );
+
+            if (staged.photo != null) {
+                profile.updatePhotoUrl(fileStorageService.accept(staged.photo));
+            }
+            if (staged.profilePhoto != null) {
+                profile.updateProfilePhotoUrl(fileStorageService.accept(staged.profilePhoto));
+            }
 
-        profile.updateLocation(request.getLocation());
-        profile.setSocialLinks(request.getSocialLinks().stream()
-                .map(dto -> new SocialLink(dto.getPlatform(), dto.getUrl()))
-                .collect(Collectors.toList()));
-        profile.setLinks(request.getLinks().stream()
-                .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
-                .collect(Collectors.toList()));
+            profile.updateLocation(request.getLocation());
+            profile.setSocialLinks(request.getSocialLinks().stream()
+                    .map(dto -> new SocialLink(dto.getPlatform(), dto.getUrl()))
+                    .collect(Collectors.toList()));
+            profile.setLinks(request.getLinks().stream()
+                    .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
+                    .collect(Collectors.toList()));
 
-        List<Attachment> attachments = new ArrayList<>();
-        
-        // Process attachment files if present
-        if (attachmentFiles != null && !attachmentFiles.isEmpty()) {
-            for (int i = 0; i < attachmentFiles.size(); i++) {
-                MultipartFile file = attachmentFiles.get(i);
-                if (file != null && !file.isEmpty()) {
-                    String extension = getFileExtension(file.getOriginalFilename());
-                    MediaType mediaType = getMediaTypeFromExtension(extension);
-                    
-                    // If there's metadata in the request, use it
-                    String title = "Attachment " + (i + 1);
-                    String description = "Uploaded file " + file.getOriginalFilename();
-                    if (request.getAttachments() != null && i < request.getAttachments().size()) {
-                        AttachmentDto metadata = request.getAttachments().get(i);
-                        title = metadata.getTitle();
-                        description = metadata.getDescription();
-                        mediaType = metadata.getMediaType();
-                    }
-                    
-                    attachments.add(new Attachment(
-                        title,
-                        description,
-                        mediaType,
-                        fileStorageService.storeFile(file)
-                    ));
-                }
-            }
-        }
-        // Only process base64 attachments if no files were provided
-        else if (request.getAttachments() != null) {
-            attachments.addAll(request.getAttachments().stream()
-                .filter(dto -> dto.getData() != null && !dto.getData().isEmpty())
-                .map(dto -> new Attachment(
-                    dto.getTitle(),
-                    dto.getDescription(),
-                    dto.getMediaType(),
-                    fileStorageService.storeBase64File(dto.getData(), getExtensionForMediaType(dto.getMediaType()))
-                ))
-                .collect(Collectors.toList()));
-        }
-        
-        profile.setAttachments(attachments);
+            profile.setAttachments(buildInfluencerAttachments(request, attachmentFiles, staged, user.getId()));
 
-        InfluencerProfile savedProfile = influencerProfileRepository.save(profile);
-        user.markProfileAsCompleted();
-        userRepository.save(user);
+            InfluencerProfile savedProfile = influencerProfileRepository.save(profile);
+            user.markProfileAsCompleted();
+            userRepository.save(user);
 
-        return toInfluencerProfileResponse(savedProfile);
+            return toInfluencerProfileResponse(savedProfile);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -197,99 +162,166 @@ public class ProfileService {
         return toInfluencerProfileResponse(profile);
     }
 
-    @Transactional
     public BrandProfileResponse updateBrandProfile(CreateBrandProfileRequest request, MultipartFile logo, MultipartFile profilePhoto) {
-        User user = getCurrentUser();
-        validateUserRole(user, UserRole.BRAND);
-
-        BrandProfile profile = brandProfileRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new IllegalStateException("Brand profile not found"));
-
-        profile.update(
-            request.getName(),
-            request.getSector(),
-            request.getCountry() != null ? new Country(request.getCountry()) : null,
-            request.getDescription(),
-            request.getWebsiteUrl(),
-            request.getLocation()
-        );
-
-        if (logo != null) {
-            profile.updateLogoUrl(fileStorageService.storeFile(logo));
-        } else if (request.getLogo() != null) {
-            profile.updateLogoUrl(fileStorageService.storeBase64File(request.getLogo(), "png"));
-        }
-
-        if (profilePhoto != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeFile(profilePhoto));
-        } else if (request.getProfilePhoto() != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeBase64File(request.getProfilePhoto(), "png"));
-        }
+        return withStagedFiles(staged -> {
+            staged.photo = stage(logo, request.getLogo());
+            staged.profilePhoto = stage(profilePhoto, request.getProfilePhoto());
+            if (request.getAttachments() != null) {
+                stageAttachments(staged, request.getAttachments());
+            }
+        }, staged -> {
+            User user = getCurrentUser();
+            validateUserRole(user, UserRole.BRAND);
+
+            BrandProfile profile = brandProfileRepository.findByUserId(user.getId())
+                    .orElseThrow(() -> new IllegalStateException("Brand profile not found"));
+
+            profile.update(
+                request.getName(),
+                request.getSector(),
+                request.getCountry() != null ? new Country(request.getCountry()) : null,
+                request.getDescription(),
+                request.getWebsiteUrl(),
+                request.getLocation()
+            );
+
+            // Cada archivo reemplazado suelta su referencia; si se reenvían los mismos bytes se reutiliza la fila
+            if (staged.photo != null) {
+                fileStorageService.release(profile.getLogoUrl());
+                profile.updateLogoUrl(fileStorageService.accept(staged.photo));
+            }
+            if (staged.profilePhoto != null) {
+                fileStorageService.release(profile.getProfilePhotoUrl());
+                profile.updateProfilePhotoUrl(fileStorageService.accept(staged.profilePhoto));
+            }
 
-        if (request.getLinks() != null) {
-            profile.setLinks(request.getLinks().stream()
-                    .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
-                    .collect(Collectors.toList()));
-        }
+            if (request.getLinks() != null) {
+                profile.setLinks(request.getLinks().stream()
+                        .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
+                        .collect(Collectors.toList()));
+            }
 
-        if (request.getAttachments() != null) {
-            List<Attachment> attachments = request.getAttachments().stream()
-                    .map(dto -> new Attachment(
-                        dto.getTitle(),
-                        dto.getDescription(),
-                        dto.getMediaType(),
-                        fileStorageService.storeBase64File(dto.getData(), getExtensionForMediaType(dto.getMediaType()))
-                    ))
-                    .collect(Collectors.toList());
-            profile.setAttachments(attachments);
-        }
+            if (request.getAttachments() != null) {
+                releaseAttachments(profile.getAttachments());
+                List<Attachment> attachments = request.getAttachments().stream()
+                        .map(dto -> new Attachment(
+                            dto.getTitle(),
+                            dto.getDescription(),
+                            dto.getMediaType(),
+                            storeAttachment(dto, staged, user.getId())
+                        ))
+                        .collect(Collectors.toList());
+                profile.setAttachments(attachments);
+            }
 
-        return toBrandProfileResponse(brandProfileRepository.save(profile));
+            return toBrandProfileResponse(brandProfileRepository.save(profile));
+        });
     }
 
-    @Transactional
     public InfluencerProfileResponse updateInfluencerProfile(CreateInfluencerProfileRequest request, MultipartFile photo, MultipartFile profilePhoto, List<MultipartFile> attachmentFiles) {
-        User user = getCurrentUser();
-        validateUserRole(user, UserRole.INFLUENCER);
+        return withStagedFiles(staged -> {
+            staged.photo = stage(photo, request.getPhoto());
+            staged.profilePhoto = stage(profilePhoto, request.getProfilePhoto());
+            stageInfluencerAttachments(staged, request, attachmentFiles);
+        }, staged -> {
+            User user = getCurrentUser();
+            validateUserRole(user, UserRole.INFLUENCER);
+
+            InfluencerProfile profile = influencerProfileRepository.findByUserId(user.getId())
+                    .orElseThrow(() -> new IllegalStateException("Influencer profile not found"));
+
+            profile.update(
+                request.getName(),
+                request.getNiches(),
+                request.getBio(),
+                request.getCountry() != null ? new Country(request.getCountry()) : null,
+                request.getFollowers(),
+                request.getLocation()
+            );
+
+            // Cada archivo reemplazado suelta su referencia; si se reenvían los mismos bytes se reutiliza la fila
+            if (staged.photo != null) {
+                fileStorageService.release(profile.getPhotoUrl());
+                profile.updatePhotoUrl(fileStorageService.accept(staged.photo));
+            }
+            if (staged.profilePhoto != null) {
+                fileStorageService.release(profile.getProfilePhotoUrl());
+                profile.updateProfilePhotoUrl(fileStorageService.accept(staged.profilePhoto));
+            }
 
-        InfluencerProfile profile = influencerProfileRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new IllegalStateException("Influencer profile not found"));
-
-        profile.update(
-            request.getName(),
-            request.getNiches(),
-            request.getBio(),
-            request.getCountry() != null ? new Country(request.getCountry()) : null,
-            request.getFollowers(),
-            request.getLocation()
-        );
-
-        if (photo != null) {
-            profile.updatePhotoUrl(fileStorageService.storeFile(photo));
-        } else if (request.getPhoto() != null) {
-            profile.updatePhotoUrl(fileStorageService.storeBase64File(request.getPhoto(), "png"));
+            if (request.getSocialLinks() != null) {
+                profile.setSocialLinks(request.getSocialLinks().stream()
+                        .map(dto -> new SocialLink(dto.getPlatform(), dto.getUrl()))
+                        .collect(Collectors.toList()));
+            }
+
+            if (request.getLinks() != null) {
+                profile.setLinks(request.getLinks().stream()
+                        .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
+                        .collect(Collectors.toList()));
+            }
+
+            releaseAttachments(profile.getAttachments());
+            profile.setAttachments(buildInfluencerAttachments(request, attachmentFiles, staged, user.getId()));
+
+            return toInfluencerProfileResponse(influencerProfileRepository.save(profile));
+        });
+    }
+
+    /**
+     * Copia los archivos de la petición al área temporal y después ejecuta work en una transacción, para no
+     * ocupar una conexión del pool durante la copia. Si algo falla, las copias se descartan.
+     */
+    private <T> T withStagedFiles(Consumer<StagedFiles> stager, Function<StagedFiles, T> work) {
+        StagedFiles staged = new StagedFiles();
+        try {
+            stager.accept(staged);
+            return transactionTemplate.execute(status -> work.apply(staged));
+        } catch (RuntimeException e) {
+            staged.all().forEach(fileStorageService::discard);
+            throw e;
         }
+    }
 
-        if (profilePhoto != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeFile(profilePhoto));
-        } else if (request.getProfilePhoto() != null) {
-            profile.updateProfilePhotoUrl(fileStorageService.storeBase64File(request.getProfilePhoto(), "png"));
+    private StagedUpload stage(MultipartFile file, String base64Data) {
+        if (file != null) {
+            return fileStorageService.stageFile(file);
+        }
+        if (base64Data != null) {
+            return fileStorageService.stageBase64File(base64Data, "png");
         }
+        return null;
+    }
 
-        if (request.getSocialLinks() != null) {
-            profile.setSocialLinks(request.getSocialLinks().stream()
-                    .map(dto -> new SocialLink(dto.getPlatform(), dto.getUrl()))
-                    .collect(Collectors.toList()));
+    // Los adjuntos que referencian una subida previa no tienen nada que preparar
+    private void stageAttachments(StagedFiles staged, List<AttachmentDto> attachments) {
+        for (AttachmentDto dto : attachments) {
+            if (dto.getFileId() == null || dto.getFileId().isEmpty()) {
+                staged.attachments.put(dto,
+                        fileStorageService.stageBase64File(dto.getData(), getExtensionForMediaType(dto.getMediaType())));
+            }
         }
+    }
 
-        if (request.getLinks() != null) {
-            profile.setLinks(request.getLinks().stream()
-                    .map(dto -> new Link(dto.getTitle(), dto.getUrl()))
+    // Los adjuntos en Base64 solo se procesan si no llegan archivos
+    private void stageInfluencerAttachments(StagedFiles staged, CreateInfluencerProfileRequest request,
+                                            List<MultipartFile> attachmentFiles) {
+        if (attachmentFiles != null && !attachmentFiles.isEmpty()) {
+            for (MultipartFile file : attachmentFiles) {
+                staged.attachmentFiles.add(file != null && !file.isEmpty() ? fileStorageService.stageFile(file) : null);
+            }
+        } else if (request.getAttachments() != null) {
+            stageAttachments(staged, request.getAttachments().stream()
+                    .filter(this::hasAttachmentContent)
                     .collect(Collectors.toList()));
         }
+    }
 
+    private List<Attachment> buildInfluencerAttachments(CreateInfluencerProfileRequest request,
+                                                        List<MultipartFile> attachmentFiles, StagedFiles staged,
+                                                        Long userId) {
         List<Attachment> attachments = new ArrayList<>();
-        
+
         // Process attachment files if present
         if (attachmentFiles != null && !attachmentFiles.isEmpty()) {
             for (int i = 0; i < attachmentFiles.size(); i++) {
@@ -297,7 +329,7 @@ public class ProfileService {
                 if (file != null && !file.isEmpty()) {
                     String extension = getFileExtension(file.getOriginalFilename());
                     MediaType mediaType = getMediaTypeFromExtension(extension);
-                    
+
                     // If there's metadata in the request, use it
                     String title = "Attachment " + (i + 1);
                     String description = "Uploaded file " + file.getOriginalFilename();
@@ -307,12 +339,12 @@ public class ProfileService {
                         description = metadata.getDescription();
                         mediaType = metadata.getMediaType();
                     }
-                    
+
                     attachments.add(new Attachment(
                         title,
                         description,
                         mediaType,
-                        fileStorageService.storeFile(file)
+                        fileStorageService.accept(staged.attachmentFiles.get(i))
                     ));
                 }
             }
@@ -320,19 +352,16 @@ public class ProfileService {
         // Only process base64 attachments if no files were provided
         else if (request.getAttachments() != null) {
             attachments.addAll(request.getAttachments().stream()
-                .filter(dto -> dto.getData() != null && !dto.getData().isEmpty())
+                .filter(this::hasAttachmentContent)
                 .map(dto -> new Attachment(
                     dto.getTitle(),
                     dto.getDescription(),
                     dto.getMediaType(),
-                    fileStorageService.storeBase64File(dto.getData(), getExtensionForMediaType(dto.getMediaType()))
+                    storeAttachment(dto, staged, userId)
                 ))
                 .collect(Collectors.toList()));
         }
-        
-        profile.setAttachments(attachments);
-
-        return toInfluencerProfileResponse(influencerProfileRepository.save(profile));
+        return attachments;
     }
 
     private User getCurrentUser() {
@@ -354,6 +383,29 @@ public class ProfileService {
         }
     }
 
+    // Un adjunto llega como Base64 (ya preparado) o como ID de un archivo ya subido por /api/files/uploads.
+    // Solo se puede adjuntar una subida propia; la de otro usuario responde igual que una inexistente
+    private String storeAttachment(AttachmentDto dto, StagedFiles staged, Long userId) {
+        if (dto.getFileId() != null && !dto.getFileId().isEmpty()) {
+            String fileId = fileStorageService.findStoredFile(dto.getFileId())
+                    .filter(file -> userId.equals(file.getOwnerId()))
+                    .map(file -> String.valueOf(file.getId()))
+                    .orElseThrow(() -> new ProfileNotFoundException("Attachment file not found: " + dto.getFileId()));
+            fileStorageService.retain(fileId);
+            return fileId;
+        }
+        return fileStorageService.accept(staged.attachments.get(dto));
+    }
+
+    private void releaseAttachments(List<Attachment> attachments) {
+        attachments.forEach(attachment -> fileStorageService.release(attachment.getMediaUrl()));
+    }
+
+    private boolean hasAttachmentContent(AttachmentDto dto) {
+        return (dto.getData() != null && !dto.getData().isEmpty())
+                || (dto.getFileId() != null && !dto.getFileId().isEmpty());
+    }
+
     private String getExtensionForMediaType(com.influmatch.profile.domain.model.valueobject.MediaType mediaType) {
         return switch (mediaType) {
             case PHOTO -> "png";
@@ -386,8 +438,10 @@ public class ProfileService {
                 .sector(profile.getSector())
                 .country(profile.getCountry().getValue())
                 .description(profile.getDescription())
-                .logo(fileStorageService.readFileAsBase64(profile.getLogoUrl()))
-                .profilePhoto(fileStorageService.readFileAsBase64(profile.getProfilePhotoUrl()))
+                .logo(mediaService.resolve(profile.getLogoUrl()))
+                .logoMedia(mediaService.describe(profile.getLogoUrl()))
+                .profilePhoto(mediaService.resolve(profile.getProfilePhotoUrl()))
+                .profilePhotoMedia(mediaService.describe(profile.getProfilePhotoUrl()))
                 .websiteUrl(profile.getWebsiteUrl())
                 .location(profile.getLocation())
                 .links(profile.getLinks().stream()
@@ -398,7 +452,8 @@ public class ProfileService {
                                 .title(attachment.getTitle())
                                 .description(attachment.getDescription())
                                 .mediaType(attachment.getMediaType())
-                                .data(fileStorageService.readFileAsBase64(attachment.getMediaUrl()))
+                                .data(mediaService.resolve(attachment.getMediaUrl()))
+                                .media(mediaService.describe(attachment.getMediaUrl()))
                                 .build())
                         .collect(Collectors.toList()))
                 .createdAt(profile.getCreatedAt())
@@ -413,8 +468,10 @@ public class ProfileService {
                 .niches(profile.getNiches().stream().toList())
                 .bio(profile.getBio())
                 .country(profile.getCountry().getValue())
-                .photo(fileStorageService.readFileAsBase64(profile.getPhotoUrl()))
-                .profilePhoto(fileStorageService.readFileAsBase64(profile.getProfilePhotoUrl()))
+                .photo(mediaService.resolve(profile.getPhotoUrl()))
+                .photoMedia(mediaService.describe(profile.getPhotoUrl()))
+                .profilePhoto(mediaService.resolve(profile.getProfilePhotoUrl()))
+                .profilePhotoMedia(mediaService.describe(profile.getProfilePhotoUrl()))
                 .followers(profile.getFollowers())
                 .socialLinks(profile.getSocialLinks().stream()
                         .map(link -> new SocialLinkDto(link.getPlatform(), link.getUrl()))
@@ -428,11 +485,32 @@ public class ProfileService {
                                 .title(attachment.getTitle())
                                 .description(attachment.getDescription())
                                 .mediaType(attachment.getMediaType())
-                                .data(fileStorageService.readFileAsBase64(attachment.getMediaUrl()))
+                                .data(mediaService.resolve(attachment.getMediaUrl()))
+                                .media(mediaService.describe(attachment.getMediaUrl()))
                                 .build())
                         .collect(Collectors.toList()))
                 .createdAt(profile.getCreatedAt())
                 .updatedAt(profile.getUpdatedAt())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Archivos de una petición ya preparados, por campo. Los adjuntos en Base64 se indexan por su DTO.
+     */
+    private static class StagedFiles {
+        // Logo (marca) o foto (influencer)
+        StagedUpload photo;
+        StagedUpload profilePhoto;
+        // Alineada con la lista de archivos recibida; null donde el archivo llegó vacío
+        final List<StagedUpload> attachmentFiles = new ArrayList<>();
+        final Map<AttachmentDto, StagedUpload> attachments = new IdentityHashMap<>();
+
+        List<StagedUpload> all() {
+            List<StagedUpload> all = new ArrayList<>(attachmentFiles);
+            all.add(photo);
+            all.add(profilePhoto);
+            all.addAll(attachments.values());
+            return all;
+        }
+    }
+}
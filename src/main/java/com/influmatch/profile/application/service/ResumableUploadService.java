@@ -0,0 +1,200 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.profile.application.dto.CreateUploadSessionRequest;
+import com.influmatch.profile.application.dto.UploadSessionResponse;
+import com.influmatch.profile.domain.exception.ProfileException;
+import com.influmatch.profile.domain.exception.ProfileNotFoundException;
+import com.influmatch.profile.domain.exception.UploadOffsetMismatchException;
+import com.influmatch.profile.domain.exception.UploadSessionElsewhereException;
+import com.influmatch.profile.domain.model.entity.UploadSession;
+import com.influmatch.profile.infrastructure.repository.UploadSessionRepository;
+import com.influmatch.shared.infrastructure.security.SecurityUtils;
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Subidas reanudables: crear sesión, enviar partes con su offset y finalizar.
+ * Si la conexión se corta, el cliente consulta el offset y continúa desde ahí.
+ * <p>
+ * El archivo parcial vive en el disco local del nodo que creó la sesión: las partes, la finalización y
+ * la cancelación que lleguen a otro nodo se rechazan indicando el nodo (421), y el bloqueo por sesión
+ * en memoria basta porque solo ese nodo escribe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final FileStorageService fileStorageService;
+    private final BlobStore blobStore;
+    private final SecurityUtils securityUtils;
+
+    // Solo una parte a la vez por sesión
+    private final Map<String, ReentrantLock> sessionLocks = new ConcurrentHashMap<>();
+
+    @Value("${application.storage.resumable.max-size}")
+    private DataSize maxSize;
+
+    @Value("${application.storage.resumable.session-ttl}")
+    private Duration sessionTtl;
+
+    @Value("${application.storage.processing.node-id}")
+    private String nodeId;
+
+    @Value("${application.storage.processing.abandon-after}")
+    private Duration abandonAfter;
+
+    public UploadSessionResponse createSession(CreateUploadSessionRequest request) {
+        fileStorageService.validateFilename(request.getFileName());
+        if (request.getSize() > maxSize.toBytes()) {
+            throw new ProfileException("File exceeds the maximum upload size of " + maxSize.toMegabytes() + "MB");
+        }
+
+        UploadSession session = new UploadSession(
+                securityUtils.getCurrentUserId(),
+                request.getFileName(),
+                request.getSize(),
+                blobStore.createPartialFile(),
+                Instant.now().plus(sessionTtl),
+                nodeId
+        );
+        return toResponse(uploadSessionRepository.save(session), null);
+    }
+
+    public UploadSessionResponse getSession(String sessionId) {
+        return toResponse(findOwnedSession(sessionId), null);
+    }
+
+    public UploadSessionResponse appendChunk(String sessionId, long offset, InputStream content) {
+        return withLock(sessionId, () -> {
+            UploadSession session = findLocalSession(sessionId);
+            if (offset != session.getReceivedBytes()) {
+                throw new UploadOffsetMismatchException(session.getReceivedBytes());
+            }
+
+            long written;
+            try {
+                written = blobStore.append(session.getPartialPath(), offset, content, session.remainingBytes());
+            } catch (IllegalArgumentException e) {
+                throw new ProfileException(e.getMessage());
+            }
+            session.advance(written, Instant.now().plus(sessionTtl));
+            return toResponse(uploadSessionRepository.save(session), null);
+        });
+    }
+
+    public UploadSessionResponse completeSession(String sessionId) {
+        return withLock(sessionId, () -> {
+            UploadSession session = findLocalSession(sessionId);
+            if (!session.isComplete()) {
+                throw new ProfileException("Upload incomplete: received " + session.getReceivedBytes()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            String fileId;
+            try {
+                fileId = fileStorageService.storeCompletedUpload(session.getFileName(), session.getPartialPath());
+            } catch (ProfileException e) {
+                // El contenido no es válido: reintentar no lo va a arreglar
+                discard(session);
+                throw e;
+            }
+            uploadSessionRepository.delete(session);
+            sessionLocks.remove(sessionId);
+            return toResponse(session, fileId);
+        });
+    }
+
+    public void abortSession(String sessionId) {
+        withLock(sessionId, () -> {
+            discard(findLocalSession(sessionId));
+            return null;
+        });
+    }
+
+    /**
+     * Elimina las sesiones abandonadas de este nodo y sus archivos parciales.
+     * Las sesiones con una parte en curso se saltan y se revisan en la siguiente pasada.
+     * Las de otros nodos solo se borran, sin archivo, si siguen ahí pasado abandon-after.
+     */
+    public int deleteExpiredSessions() {
+        int deleted = uploadSessionRepository.deleteExpiredElsewhereBefore(
+                nodeId, Instant.now().minus(abandonAfter));
+        List<UploadSession> expired = uploadSessionRepository.findExpiredHeldBy(
+                nodeId, Instant.now(), PageRequest.of(0, CLEANUP_BATCH_SIZE));
+        for (UploadSession session : expired) {
+            ReentrantLock lock = sessionLocks.computeIfAbsent(session.getId(), id -> new ReentrantLock());
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                discard(session);
+                deleted++;
+            } catch (RuntimeException e) {
+                log.warn("Could not delete expired upload session {}", session.getId(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return deleted;
+    }
+
+    private UploadSession findOwnedSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .filter(session -> session.getOwnerId().equals(securityUtils.getCurrentUserId()))
+                .filter(session -> session.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new ProfileNotFoundException("Upload session not found: " + sessionId));
+    }
+
+    private UploadSession findLocalSession(String sessionId) {
+        UploadSession session = findOwnedSession(sessionId);
+        if (!session.isHeldBy(nodeId)) {
+            throw new UploadSessionElsewhereException(sessionId, session.getNodeId());
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        blobStore.deletePartial(session.getPartialPath());
+        uploadSessionRepository.delete(session);
+        sessionLocks.remove(session.getId());
+    }
+
+    private <T> T withLock(String sessionId, Supplier<T> action) {
+        ReentrantLock lock = sessionLocks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new ProfileException("Another chunk is being uploaded for session " + sessionId);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session, String fileId) {
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .offset(session.getReceivedBytes())
+                .size(session.getTotalSize())
+                .expiresAt(session.getExpiresAt())
+                .fileId(fileId)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.shared.infrastructure.storage.StagedContent;
+
+/**
+ * Archivo de una petición ya copiado al área temporal, pendiente de aceptarse con FileStorageService.accept.
+ */
+public record StagedUpload(StagedContent content, String extension) {
+}
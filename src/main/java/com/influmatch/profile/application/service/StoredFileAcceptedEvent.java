@@ -0,0 +1,7 @@
+package com.influmatch.profile.application.service;
+
+/**
+ * Se publica al aceptar un archivo en PENDING; UploadProcessingService lo procesa tras el commit.
+ */
+public record StoredFileAcceptedEvent(Long fileId) {
+}
@@ -0,0 +1,109 @@
+package com.influmatch.profile.application.service;
+
+import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Procesa en segundo plano los archivos aceptados en PENDING.
+ * Cada archivo se encola tras el commit que lo crea; el barrido periódico reencola los que se perdieron
+ * (cola llena, reinicio del nodo, error transitorio) pasado retry-after.
+ * <p>
+ * Con varias instancias, el contenido preparado solo existe en el disco del nodo que aceptó la subida:
+ * cada nodo barre únicamente sus filas (staged_by) y reserva cada una con claimPending antes de procesarla.
+ * Las de un nodo que no vuelve pasan a FAILED tras abandon-after.
+ */
+@Slf4j
+@Service
+public class UploadProcessingService {
+    private final FileStorageService fileStorageService;
+    private final StoredFileRepository storedFileRepository;
+    private final ThreadPoolTaskExecutor executor;
+
+    // Archivos con procesamiento en curso en este nodo, para no encolar el mismo dos veces
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${application.storage.processing.retry-after}")
+    private Duration retryAfter;
+
+    @Value("${application.storage.processing.batch-size}")
+    private int batchSize;
+
+    @Value("${application.storage.processing.node-id}")
+    private String nodeId;
+
+    @Value("${application.storage.processing.lease}")
+    private Duration lease;
+
+    @Value("${application.storage.processing.abandon-after}")
+    private Duration abandonAfter;
+
+    public UploadProcessingService(FileStorageService fileStorageService,
+                                   StoredFileRepository storedFileRepository,
+                                   @Qualifier("uploadProcessingExecutor") ThreadPoolTaskExecutor executor) {
+        this.fileStorageService = fileStorageService;
+        this.storedFileRepository = storedFileRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Sin transacción (fallbackExecution) se encola de inmediato; con ella, al hacer commit,
+     * porque el pool no vería todavía la fila de stored_files.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccepted(StoredFileAcceptedEvent event) {
+        submit(event.fileId());
+    }
+
+    @Scheduled(initialDelayString = "${application.storage.processing.sweep-interval-ms}",
+            fixedDelayString = "${application.storage.processing.sweep-interval-ms}")
+    public void requeueStalled() {
+        int abandoned = storedFileRepository.failPendingCreatedBefore(
+                LocalDateTime.now().minus(abandonAfter), "Staged content not processed in time");
+        if (abandoned > 0) {
+            log.warn("Marked {} abandoned pending stored files as failed", abandoned);
+        }
+
+        List<Long> stalled = storedFileRepository.findPendingIdsStagedBy(
+                nodeId, LocalDateTime.now().minus(retryAfter), PageRequest.of(0, batchSize));
+        if (!stalled.isEmpty()) {
+            log.info("Requeueing {} stalled pending stored files", stalled.size());
+            stalled.forEach(this::submit);
+        }
+    }
+
+    private void submit(Long fileId) {
+        if (!inFlight.add(fileId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (storedFileRepository.claimPending(fileId, nodeId, lease.toSeconds()) == 0) {
+                        return;
+                    }
+                    fileStorageService.processPending(fileId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not process stored file {}: {}", fileId, e.getMessage());
+                } finally {
+                    inFlight.remove(fileId);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Cola llena o pool parado: lo recogerá el barrido
+            inFlight.remove(fileId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.influmatch.profile.domain.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UploadOffsetMismatchException extends ProfileException {
+    private final long currentOffset;
+
+    public UploadOffsetMismatchException(long currentOffset) {
+        super("Upload offset mismatch, expected " + currentOffset);
+        this.currentOffset = currentOffset;
+    }
+}
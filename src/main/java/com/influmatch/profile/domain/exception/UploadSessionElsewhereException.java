@@ -0,0 +1,16 @@
+package com.influmatch.profile.domain.exception;
+
+import lombok.Getter;
+
+/**
+ * La parte llegó a un nodo distinto del que guarda el archivo parcial de la sesión.
+ */
+@Getter
+public class UploadSessionElsewhereException extends ProfileException {
+    private final String nodeId;
+
+    public UploadSessionElsewhereException(String sessionId, String nodeId) {
+        super("Upload session " + sessionId + " is held by node " + nodeId);
+        this.nodeId = nodeId;
+    }
+}
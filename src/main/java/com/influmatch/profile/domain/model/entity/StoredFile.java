@@ -1,5 +1,7 @@
 package com.influmatch.profile.domain.model.entity;
 
+import com.influmatch.profile.domain.model.valueobject.StoredFileStatus;
+import com.influmatch.shared.domain.model.AuditableEntity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,7 +10,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "stored_files")
 @Getter
 @NoArgsConstructor
-public class StoredFile {
+public class StoredFile extends AuditableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,13 +21,102 @@ public class StoredFile {
     @Column(nullable = false)
     private String mimeType;
 
-    @Lob
-    @Column(nullable = false)
-    private byte[] data;
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Ruta relativa del blob en BlobStore; null mientras el archivo siga en la columna legacy "data"
+    @Column(name = "storage_path")
+    private String storagePath;
+
+    // Usuario que subió el archivo; null en archivos legacy y miniaturas
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    // Referencias desde perfiles y adjuntos del mismo dueño; los mismos bytes reutilizan la fila
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 1;
+
+    // Content-Encoding del blob (p. ej. gzip); null si se guardó tal cual
+    @Column(name = "content_encoding", length = 20)
+    private String contentEncoding;
+
+    // Lo que ocupa el blob en el backend; null cuando coincide con sizeBytes
+    @Column(name = "stored_size_bytes")
+    private Long storedSizeBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StoredFileStatus status = StoredFileStatus.READY;
 
-    public StoredFile(String fileName, String mimeType, byte[] data) {
+    // Contenido aceptado pero aún sin procesar, relativo a la raíz del BlobStore; solo mientras está PENDING
+    @Column(name = "staging_path")
+    private String stagingPath;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    // Nodo en cuyo disco está el contenido preparado; solo él puede procesarlo
+    @Column(name = "staged_by", length = 64)
+    private String stagedBy;
+
+    public StoredFile(String fileName, String mimeType, long sizeBytes, String contentHash, String storagePath) {
         this.fileName = fileName;
         this.mimeType = mimeType;
-        this.data = data;
+        this.sizeBytes = sizeBytes;
+        this.contentHash = contentHash;
+        this.storagePath = storagePath;
+    }
+
+    public StoredFile(String fileName, String mimeType, long sizeBytes, String contentHash, String storagePath,
+                      Long ownerId, int refCount) {
+        this(fileName, mimeType, sizeBytes, contentHash, storagePath);
+        this.ownerId = ownerId;
+        this.refCount = refCount;
+    }
+
+    public void storedEncoded(String contentEncoding, long storedSizeBytes) {
+        this.contentEncoding = contentEncoding;
+        this.storedSizeBytes = storedSizeBytes;
+    }
+
+    /**
+     * Archivo aceptado con el contenido en el área temporal; lo procesa UploadProcessingService.
+     */
+    public void markPending(String stagingPath, String stagedBy) {
+        this.status = StoredFileStatus.PENDING;
+        this.stagingPath = stagingPath;
+        this.stagedBy = stagedBy;
+    }
+
+    public void markReady(String storagePath, String mimeType) {
+        this.status = StoredFileStatus.READY;
+        this.storagePath = storagePath;
+        this.mimeType = mimeType;
+        this.stagingPath = null;
+    }
+
+    public void markFailed(String reason) {
+        this.status = StoredFileStatus.FAILED;
+        this.stagingPath = null;
+        this.failureReason = reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason;
+    }
+
+    public boolean isPending() {
+        return status == StoredFileStatus.PENDING;
+    }
+
+    public boolean isEncoded() {
+        return contentEncoding != null;
+    }
+
+    public long getStoredSize() {
+        return storedSizeBytes != null ? storedSizeBytes : sizeBytes;
+    }
+
+    public boolean isMigrated() {
+        return storagePath != null;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.influmatch.profile.domain.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versión reducida (miniatura cuadrada) de una imagen almacenada.
+ * La miniatura es a su vez un StoredFile, así que se sirve por /api/files como cualquier otro.
+ */
+@Entity
+@Table(name = "stored_file_variants",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stored_file_variants_source_width",
+                                             columnNames = {"source_file_id", "width"}))
+@Getter
+@NoArgsConstructor
+public class StoredFileVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_file_id", nullable = false)
+    private Long sourceFileId;
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(name = "variant_file_id", nullable = false)
+    private Long variantFileId;
+
+    public StoredFileVariant(Long sourceFileId, int width, Long variantFileId) {
+        this.sourceFileId = sourceFileId;
+        this.width = width;
+        this.variantFileId = variantFileId;
+    }
+}
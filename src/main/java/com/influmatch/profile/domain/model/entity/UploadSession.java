@@ -0,0 +1,77 @@
+package com.influmatch.profile.domain.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Subida reanudable en curso. Los bytes recibidos se acumulan en un archivo
+ * parcial del BlobStore hasta que el cliente la finaliza.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Getter
+@NoArgsConstructor
+public class UploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Column(name = "partial_path", nullable = false)
+    private String partialPath;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Nodo con el archivo parcial en su disco; null en sesiones anteriores a V21
+    @Column(name = "node_id", length = 64)
+    private String nodeId;
+
+    public UploadSession(Long ownerId, String fileName, long totalSize, String partialPath, Instant expiresAt,
+                         String nodeId) {
+        this.id = UUID.randomUUID().toString();
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.receivedBytes = 0L;
+        this.partialPath = partialPath;
+        this.createdAt = Instant.now();
+        this.expiresAt = expiresAt;
+        this.nodeId = nodeId;
+    }
+
+    public boolean isHeldBy(String node) {
+        return nodeId == null || nodeId.equals(node);
+    }
+
+    public void advance(long bytes, Instant expiresAt) {
+        this.receivedBytes += bytes;
+        this.expiresAt = expiresAt;
+    }
+
+    public long remainingBytes() {
+        return totalSize - receivedBytes;
+    }
+
+    public boolean isComplete() {
+        return receivedBytes.equals(totalSize);
+    }
+}
@@ -0,0 +1,11 @@
+package com.influmatch.profile.domain.model.valueobject;
+
+/**
+ * PENDING: aceptado en el área temporal, esperando validación y almacenamiento.
+ * READY: blob guardado y servible. FAILED: el contenido no pasó la validación.
+ */
+public enum StoredFileStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,35 @@
+package com.influmatch.profile.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageVariantConfig {
+
+    @Value("${application.media.thumbnails.threads}")
+    private int threads;
+
+    @Value("${application.media.thumbnails.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Pool acotado para generar miniaturas fuera del hilo de la petición.
+     * Si la cola se llena la tarea se rechaza (TaskRejectedException) y ImageVariantService la olvida:
+     * la miniatura se vuelve a pedir la próxima vez que se lea.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variants-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.influmatch.profile.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.MultipartConfigFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,11 +13,21 @@ import jakarta.servlet.MultipartConfigElement;
 @Configuration
 public class MultipartConfig {
 
+    @Value("${application.storage.upload.max-file-size}")
+    private DataSize maxFileSize;
+
+    @Value("${application.storage.upload.max-request-size}")
+    private DataSize maxRequestSize;
+
+    @Value("${application.storage.upload.file-size-threshold}")
+    private DataSize fileSizeThreshold;
+
     @Bean
     public MultipartConfigElement multipartConfigElement() {
         MultipartConfigFactory factory = new MultipartConfigFactory();
-        factory.setMaxFileSize(DataSize.ofMegabytes(10));
-        factory.setMaxRequestSize(DataSize.ofMegabytes(10));
+        factory.setMaxFileSize(maxFileSize);
+        factory.setMaxRequestSize(maxRequestSize);
+        factory.setFileSizeThreshold(fileSizeThreshold);
         return factory.createMultipartConfig();
     }
 
@@ -24,4 +35,4 @@ public class MultipartConfig {
     public MultipartResolver multipartResolver() {
         return new StandardServletMultipartResolver();
     }
-} 
\ No newline at end of file
+}
@@ -1,16 +1,30 @@
 package com.influmatch.profile.infrastructure.config;
 
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import com.influmatch.shared.infrastructure.storage.MediaUrlSigner;
+import com.influmatch.shared.infrastructure.storage.SignedMediaResourceResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class StaticResourceConfig implements WebMvcConfigurer {
+    private final MediaUrlSigner mediaUrlSigner;
+    private final BlobStore blobStore;
 
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/");
+
+        // Blobs por URL firmada; Cache-Control lo pone cada recurso, limitado a lo que le queda a la firma
+        registry.addResourceHandler(MediaUrlSigner.PATH_PREFIX + "**")
+                .setUseLastModified(false)
+                .setEtagGenerator(SignedMediaResourceResolver::etag)
+                .resourceChain(false)
+                .addResolver(new SignedMediaResourceResolver(mediaUrlSigner, blobStore));
     }
-} 
\ No newline at end of file
+}
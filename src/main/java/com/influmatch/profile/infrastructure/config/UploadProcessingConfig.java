@@ -0,0 +1,34 @@
+package com.influmatch.profile.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class UploadProcessingConfig {
+
+    @Value("${application.storage.processing.threads}")
+    private int threads;
+
+    @Value("${application.storage.processing.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Pool acotado para procesar las subidas aceptadas (validación, compresión, guardado en el backend).
+     * Si la cola se llena la tarea se rechaza: la fila sigue en PENDING y la recoge el barrido periódico.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-processing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,9 +1,60 @@
 package com.influmatch.profile.infrastructure.repository;
 
 import com.influmatch.profile.domain.model.entity.StoredFile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
-} 
\ No newline at end of file
+    boolean existsByStoragePath(String storagePath);
+
+    Optional<StoredFile> findFirstByOwnerIdAndContentHashOrderByIdAsc(Long ownerId, String contentHash);
+
+    @Query("SELECT f.id FROM StoredFile f WHERE f.status = com.influmatch.profile.domain.model.valueobject.StoredFileStatus.PENDING " +
+           "AND (f.stagedBy = ?1 OR f.stagedBy IS NULL) AND f.createdAt < ?2 ORDER BY f.id")
+    List<Long> findPendingIdsStagedBy(String node, LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Reserva un PENDING para procesarlo en este nodo; 0 si ya no está pendiente, es de otro nodo
+     * o lo tiene reservado otro proceso. Las filas sin nodo (anteriores a V18) las puede tomar cualquiera.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE stored_files SET claimed_until = now() + make_interval(secs => ?3) " +
+                   "WHERE id = ?1 AND status = 'PENDING' AND (staged_by = ?2 OR staged_by IS NULL) " +
+                   "AND (claimed_until IS NULL OR claimed_until < now())", nativeQuery = true)
+    int claimPending(Long id, String node, long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.status = com.influmatch.profile.domain.model.valueobject.StoredFileStatus.FAILED, " +
+           "f.stagingPath = NULL, f.failureReason = ?2 " +
+           "WHERE f.status = com.influmatch.profile.domain.model.valueobject.StoredFileStatus.PENDING AND f.createdAt < ?1")
+    int failPendingCreatedBefore(LocalDateTime cutoff, String reason);
+
+    @Query("SELECT COUNT(b) > 0 FROM BrandProfile b LEFT JOIN b.attachments a " +
+           "WHERE b.logoUrl = ?1 OR b.profilePhotoUrl = ?1 OR a.mediaUrl = ?1")
+    boolean isReferencedByBrandProfile(String fileId);
+
+    @Query("SELECT COUNT(i) > 0 FROM InfluencerProfile i LEFT JOIN i.attachments a " +
+           "WHERE i.photoUrl = ?1 OR i.profilePhotoUrl = ?1 OR a.mediaUrl = ?1")
+    boolean isReferencedByInfluencerProfile(String fileId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount + 1 WHERE f.id = ?1")
+    int incrementRefCount(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1 WHERE f.id = ?1 AND f.refCount > 0")
+    int decrementRefCount(Long id);
+}
@@ -0,0 +1,20 @@
+package com.influmatch.profile.infrastructure.repository;
+
+import com.influmatch.profile.domain.model.entity.StoredFileVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredFileVariantRepository extends JpaRepository<StoredFileVariant, Long> {
+    Optional<StoredFileVariant> findBySourceFileIdAndWidth(Long sourceFileId, Integer width);
+
+    List<StoredFileVariant> findBySourceFileId(Long sourceFileId);
+
+    Optional<StoredFileVariant> findFirstByVariantFileId(Long variantFileId);
+
+    List<StoredFileVariant> findBySourceFileIdInAndWidth(Collection<Long> sourceFileIds, Integer width);
+}
@@ -0,0 +1,26 @@
+package com.influmatch.profile.infrastructure.repository;
+
+import com.influmatch.profile.domain.model.entity.UploadSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    @Query("SELECT s FROM UploadSession s WHERE s.expiresAt < ?2 AND (s.nodeId = ?1 OR s.nodeId IS NULL)")
+    List<UploadSession> findExpiredHeldBy(String nodeId, Instant now, Pageable pageable);
+
+    /**
+     * Sesiones de nodos que no han vuelto a limpiarlas; su archivo parcial se fue con el nodo.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.nodeId <> ?1 AND s.expiresAt < ?2")
+    int deleteExpiredElsewhereBefore(String nodeId, Instant cutoff);
+}
@@ -0,0 +1,21 @@
+package com.influmatch.profile.infrastructure.security;
+
+import com.influmatch.profile.application.service.FileAccessPolicy;
+import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fotos, logos y adjuntos de un perfil: los perfiles son visibles para cualquier usuario autenticado.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileFileAccessPolicy implements FileAccessPolicy {
+    private final StoredFileRepository storedFileRepository;
+
+    @Override
+    public boolean canRead(String fileId, Long userId) {
+        return storedFileRepository.isReferencedByBrandProfile(fileId)
+                || storedFileRepository.isReferencedByInfluencerProfile(fileId);
+    }
+}
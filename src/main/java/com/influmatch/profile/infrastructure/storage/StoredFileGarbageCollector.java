@@ -0,0 +1,235 @@
+package com.influmatch.profile.infrastructure.storage;
+
+import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import com.influmatch.shared.infrastructure.storage.BlobReuseGuard;
+import com.influmatch.shared.infrastructure.storage.OffHeapMediaCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mark-and-sweep de stored_files.
+ * Marca: recorre perfiles, adjuntos y mensajes y reúne los IDs referenciados, los que aún tienen
+ * ref_count y las miniaturas de todos ellos.
+ * Barrido: recorre stored_files por lotes y borra lo no marcado que supere el periodo de gracia.
+ * Los archivos con dueño solo se borran con ref_count = 0, lo que cubre una reutilización
+ * por deduplicación ocurrida entre la marca y el barrido. Los blobs se borran a través de
+ * {@link BlobReuseGuard}, que los deja mientras una subida deduplicada pueda estar registrando su fila.
+ */
+@Slf4j
+@Component
+public class StoredFileGarbageCollector {
+    private static final List<String> REFERENCE_QUERIES = List.of(
+            "SELECT b.logoUrl FROM BrandProfile b WHERE b.logoUrl IS NOT NULL",
+            "SELECT b.profilePhotoUrl FROM BrandProfile b WHERE b.profilePhotoUrl IS NOT NULL",
+            "SELECT a.mediaUrl FROM BrandProfile b JOIN b.attachments a",
+            "SELECT i.photoUrl FROM InfluencerProfile i WHERE i.photoUrl IS NOT NULL",
+            "SELECT i.profilePhotoUrl FROM InfluencerProfile i WHERE i.profilePhotoUrl IS NOT NULL",
+            "SELECT a.mediaUrl FROM InfluencerProfile i JOIN i.attachments a",
+            "SELECT m.attachmentUrl FROM Message m WHERE m.attachmentUrl IS NOT NULL"
+    );
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final StoredFileRepository storedFileRepository;
+    private final BlobReuseGuard reuseGuard;
+    private final OffHeapMediaCache mediaCache;
+    private final Counter reclaimedBytes;
+    private final Counter deletedFiles;
+
+    @Value("${application.storage.gc.enabled}")
+    private boolean enabled;
+
+    @Value("${application.storage.gc.grace-period}")
+    private Duration gracePeriod;
+
+    @Value("${application.storage.gc.reuse-window}")
+    private Duration reuseWindow;
+
+    @Value("${application.storage.gc.batch-size}")
+    private int batchSize;
+
+    public StoredFileGarbageCollector(EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      StoredFileRepository storedFileRepository,
+                                      BlobReuseGuard reuseGuard,
+                                      OffHeapMediaCache mediaCache,
+                                      MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.storedFileRepository = storedFileRepository;
+        this.reuseGuard = reuseGuard;
+        this.mediaCache = mediaCache;
+        this.reclaimedBytes = Counter.builder("storage.gc.reclaimed")
+                .description("Bytes liberados en el almacén de blobs por el recolector")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.deletedFiles = Counter.builder("storage.gc.deleted")
+                .description("Filas de stored_files borradas por el recolector")
+                .baseUnit("files")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${application.storage.gc.initial-delay-ms}",
+               fixedDelayString = "${application.storage.gc.interval-ms}")
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+
+        // El corte se fija antes de marcar: lo creado después nunca entra en el barrido
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        Set<Long> marked = transactionTemplate.execute(status -> mark());
+        if (marked == null) {
+            return;
+        }
+
+        long deleted = 0;
+        long reclaimed = 0;
+        long cursor = 0;
+        while (true) {
+            List<Object[]> batch = nextBatch(cursor, cutoff);
+            if (batch.isEmpty()) {
+                break;
+            }
+            cursor = (Long) batch.get(batch.size() - 1)[0];
+
+            List<Long> garbage = batch.stream()
+                    .map(row -> (Long) row[0])
+                    .filter(id -> !marked.contains(id))
+                    .toList();
+            if (!garbage.isEmpty()) {
+                SweepResult result = sweep(garbage);
+                deleted += result.deletedFiles();
+                reclaimed += result.reclaimedBytes();
+            }
+        }
+
+        int revisited = sweepExpiredReuses();
+
+        if (deleted > 0 || revisited > 0) {
+            log.info("Stored file GC deleted {} files and reclaimed {} bytes; {} blobs left by past reuses deleted",
+                    deleted, reclaimed, revisited);
+        }
+    }
+
+    private Set<Long> mark() {
+        Set<Long> marked = new HashSet<>();
+        for (String query : REFERENCE_QUERIES) {
+            try (Stream<String> references = entityManager.createQuery(query, String.class).getResultStream()) {
+                references.forEach(reference -> addReference(marked, reference));
+            }
+        }
+        // Filas con dueño y referencias contadas se conservan aunque no aparezcan arriba
+        try (Stream<Long> counted = entityManager.createQuery(
+                "SELECT f.id FROM StoredFile f WHERE f.ownerId IS NOT NULL AND f.refCount > 0", Long.class)
+                .getResultStream()) {
+            counted.forEach(marked::add);
+        }
+        // Las miniaturas viven mientras viva su original
+        try (Stream<Object[]> variants = entityManager.createQuery(
+                "SELECT v.sourceFileId, v.variantFileId FROM StoredFileVariant v", Object[].class)
+                .getResultStream()) {
+            variants.filter(row -> marked.contains((Long) row[0]))
+                    .forEach(row -> marked.add((Long) row[1]));
+        }
+        return marked;
+    }
+
+    private List<Object[]> nextBatch(long cursor, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT f.id, f.storagePath FROM StoredFile f " +
+                        "WHERE f.id > :cursor AND f.createdAt < :cutoff AND f.storagePath IS NOT NULL " +
+                        "ORDER BY f.id", Object[].class)
+                .setParameter("cursor", cursor)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(batchSize)
+                .getResultList());
+    }
+
+    private SweepResult sweep(List<Long> ids) {
+        List<Object[]> deletedRows = transactionTemplate.execute(status -> {
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT f.id, f.storagePath, f.sizeBytes, f.storedSizeBytes FROM StoredFile f " +
+                            "WHERE f.id IN :ids AND (f.ownerId IS NULL OR f.refCount = 0)", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            List<Long> deletable = rows.stream().map(row -> (Long) row[0]).toList();
+            entityManager.createQuery(
+                            "DELETE FROM StoredFileVariant v WHERE v.sourceFileId IN :ids OR v.variantFileId IN :ids")
+                    .setParameter("ids", deletable)
+                    .executeUpdate();
+            int deleted = entityManager.createQuery(
+                            "DELETE FROM StoredFile f WHERE f.id IN :ids AND (f.ownerId IS NULL OR f.refCount = 0)")
+                    .setParameter("ids", deletable)
+                    .executeUpdate();
+            // Si alguien volvió a referenciar una fila entre el SELECT y el DELETE, se revierte el lote
+            if (deleted != deletable.size()) {
+                status.setRollbackOnly();
+                return List.<Object[]>of();
+            }
+            return rows;
+        });
+
+        // Los blobs se comparten entre filas con el mismo hash: solo se borran si ya nadie los usa
+        long reclaimed = 0;
+        Set<String> checkedPaths = new HashSet<>();
+        for (Object[] row : deletedRows) {
+            mediaCache.invalidateFile(row[0]);
+            String path = (String) row[1];
+            if (checkedPaths.add(path)
+                    && reuseGuard.deleteIfUnused(path, reuseWindow, () -> storedFileRepository.existsByStoragePath(path))) {
+                // Lo que ocupa en el almacén: comprimido si se guardó codificado
+                Long storedSize = row[3] != null ? (Long) row[3] : (Long) row[2];
+                reclaimed += storedSize != null ? storedSize : 0L;
+            }
+        }
+
+        deletedFiles.increment(deletedRows.size());
+        reclaimedBytes.increment(reclaimed);
+        return new SweepResult(deletedRows.size(), reclaimed);
+    }
+
+    /**
+     * Blobs que un barrido dejó por una reutilización reciente: si la fila del que lo reutilizó nunca llegó,
+     * ya no los referencia nadie. Una tanda por pasada; su tamaño no se conoce porque ya no hay fila.
+     */
+    private int sweepExpiredReuses() {
+        int deleted = 0;
+        for (String key : reuseGuard.expiredReuses(reuseWindow, batchSize)) {
+            if (reuseGuard.deleteIfUnused(key, reuseWindow, () -> storedFileRepository.existsByStoragePath(key))) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private void addReference(Set<Long> marked, String reference) {
+        try {
+            marked.add(Long.parseLong(reference.trim()));
+        } catch (NumberFormatException e) {
+            // Referencias que no son IDs (URLs externas, /uploads/...) no apuntan a stored_files
+        }
+    }
+
+    private record SweepResult(long deletedFiles, long reclaimedBytes) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.influmatch.profile.infrastructure.storage;
+
+import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.profile.domain.model.valueobject.StoredFileStatus;
+import com.influmatch.profile.infrastructure.repository.StoredFileRepository;
+import com.influmatch.shared.infrastructure.storage.BlobStore;
+import com.influmatch.shared.infrastructure.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Mueve el contenido legacy de stored_files.data al BlobStore por lotes.
+ * Cada archivo se migra en su propia transacción, así que el job puede
+ * interrumpirse y reanudarse sin dejar filas a medias.
+ */
+@Slf4j
+@Component
+public class StoredFileMigrationJob {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final StoredFileRepository storedFileRepository;
+
+    @Value("${application.storage.migration.enabled}")
+    private boolean enabled;
+
+    @Value("${application.storage.migration.batch-size}")
+    private int batchSize;
+
+    // null = aún no consultado; "none" = la columna legacy ya no existe
+    private volatile String legacyColumnType;
+    private volatile boolean finished;
+
+    public StoredFileMigrationJob(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  BlobStore blobStore,
+                                  StoredFileRepository storedFileRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blobStore = blobStore;
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    @Scheduled(initialDelayString = "${application.storage.migration.initial-delay-ms}",
+               fixedDelayString = "${application.storage.migration.interval-ms}")
+    public void migratePendingFiles() {
+        if (!enabled || finished || !hasLegacyColumn()) {
+            return;
+        }
+
+        List<Long> pendingIds = jdbcTemplate.queryForList(
+                "SELECT id FROM stored_files WHERE storage_path IS NULL AND status = 'READY' ORDER BY id LIMIT ?",
+                Long.class, batchSize);
+        if (pendingIds.isEmpty()) {
+            finished = true;
+            log.info("Stored file migration finished, no rows left in stored_files.data");
+            return;
+        }
+
+        int migrated = 0;
+        for (Long id : pendingIds) {
+            try {
+                if (migrate(id)) {
+                    migrated++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not migrate stored file {}", id, e);
+            }
+        }
+        log.info("Migrated {} of {} stored files to the blob store", migrated, pendingIds.size());
+    }
+
+    /**
+     * Garantiza que el archivo tenga su blob en disco. Se usa como lectura
+     * perezosa cuando se pide un archivo que el job todavía no ha procesado.
+     */
+    public StoredFile ensureMigrated(StoredFile file) {
+        // Las subidas pendientes o fallidas no tienen contenido legacy
+        if (file.isMigrated() || file.getStatus() != StoredFileStatus.READY || !hasLegacyColumn()) {
+            return file;
+        }
+        migrate(file.getId());
+        return storedFileRepository.findById(file.getId()).orElse(file);
+    }
+
+    private boolean migrate(Long id) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<Boolean> result = jdbcTemplate.query(
+                    "SELECT data FROM stored_files WHERE id = ? AND storage_path IS NULL FOR UPDATE",
+                    (rs, rowNum) -> moveRow(id, rs),
+                    id);
+            return !result.isEmpty() && result.get(0);
+        }));
+    }
+
+    private boolean moveRow(Long id, ResultSet rs) throws SQLException {
+        StoredBlob blob;
+        Long largeObjectId = null;
+
+        if ("oid".equals(legacyColumnType)) {
+            // Hibernate 6 mapea @Lob byte[] a large objects en PostgreSQL
+            largeObjectId = rs.getLong(1);
+            if (rs.wasNull()) {
+                return false;
+            }
+            Blob lob = rs.getBlob(1);
+            try (InputStream in = lob.getBinaryStream()) {
+                blob = blobStore.store(in);
+            } catch (IOException e) {
+                throw new SQLException("Could not read large object for stored file " + id, e);
+            } finally {
+                lob.free();
+            }
+        } else {
+            try (InputStream in = rs.getBinaryStream(1)) {
+                if (in == null) {
+                    return false;
+                }
+                blob = blobStore.store(in);
+            } catch (IOException e) {
+                throw new SQLException("Could not read data for stored file " + id, e);
+            }
+        }
+
+        jdbcTemplate.update(
+                "UPDATE stored_files SET size_bytes = ?, content_hash = ?, storage_path = ?, data = NULL WHERE id = ?",
+                blob.getSize(), blob.getHash(), blob.getPath(), id);
+        if (largeObjectId != null) {
+            jdbcTemplate.queryForObject("SELECT lo_unlink(?)", Integer.class, largeObjectId);
+        }
+        return true;
+    }
+
+    private boolean hasLegacyColumn() {
+        if (legacyColumnType == null) {
+            List<String> types = jdbcTemplate.queryForList(
+                    "SELECT data_type FROM information_schema.columns WHERE table_name = 'stored_files' AND column_name = 'data'",
+                    String.class);
+            legacyColumnType = types.isEmpty() ? "none" : types.get(0);
+        }
+        return !"none".equals(legacyColumnType);
+    }
+}
@@ -0,0 +1,25 @@
+package com.influmatch.profile.infrastructure.storage;
+
+import com.influmatch.profile.application.service.ResumableUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Barre periódicamente las subidas reanudables abandonadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionCleanupJob {
+    private final ResumableUploadService resumableUploadService;
+
+    @Scheduled(fixedDelayString = "${application.storage.resumable.cleanup-interval-ms}")
+    public void deleteExpiredSessions() {
+        int deleted = resumableUploadService.deleteExpiredSessions();
+        if (deleted > 0) {
+            log.info("Deleted {} expired upload sessions", deleted);
+        }
+    }
+}
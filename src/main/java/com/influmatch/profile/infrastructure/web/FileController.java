@@ -0,0 +1,195 @@
+package com.influmatch.profile.infrastructure.web;
+
+import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.profile.domain.model.entity.StoredFile;
+import com.influmatch.shared.infrastructure.security.SecurityUtils;
+import com.influmatch.shared.infrastructure.storage.ContentCodec;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/files")
+@RequiredArgsConstructor
+@Tag(name = "Archivos", description = "Descarga binaria de archivos almacenados")
+public class FileController {
+    // Atributos de Tomcat para delegar la transferencia a sendfile (zero-copy)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // private: la respuesta depende del usuario autenticado, no debe quedar en cachés compartidas
+    private static final String IMMUTABLE_CACHE = "private, max-age=31536000, immutable";
+
+    private final FileStorageService fileStorageService;
+    private final SecurityUtils securityUtils;
+
+    @Operation(
+        summary = "Descargar archivo",
+        description = "Devuelve el contenido binario del archivo. Requiere autenticación: solo el dueño, los " +
+            "participantes del chat que lo adjunta o, si pertenece a un perfil, cualquier usuario autenticado. " +
+            "Soporta peticiones Range, ETag y caché inmutable."
+    )
+    @GetMapping("/{id}")
+    public void getFile(
+            @Parameter(description = "ID del archivo") @PathVariable String id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // 404 también sin permiso, para no revelar qué IDs existen
+        StoredFile file = fileStorageService.findReadableStoredFile(id, securityUtils.getCurrentUserId()).orElse(null);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Los documentos comprimidos se envían tal cual si el cliente acepta su codificación y no pide un rango
+        boolean sendEncoded = file.isEncoded()
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && ContentCodec.fromContentEncoding(file.getContentEncoding())
+                        .isAcceptedBy(String.join(",", Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))));
+        long length = sendEncoded ? file.getStoredSize() : file.getSizeBytes();
+        String etag = "\"" + file.getContentHash() + (sendEncoded ? "-" + file.getContentEncoding() : "") + "\"";
+        if (file.isEncoded()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(file.getMimeType());
+        if (sendEncoded) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, file.getContentEncoding());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(file.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range;
+        try {
+            range = resolveRange(request, etag);
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        transfer(file, sendEncoded, start, count, request, response);
+    }
+
+    /**
+     * Solo se atiende un rango; con varios rangos se responde el archivo completo (RFC 9110 lo permite).
+     * If-Range con un ETag distinto también invalida el rango.
+     */
+    private HttpRange resolveRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void transfer(StoredFile file, boolean sendEncoded, long start, long count,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // El archivo en disco solo sirve si sus bytes son los que se envían
+        Path path = !file.isEncoded() || sendEncoded ? fileStorageService.localPath(file).orElse(null) : null;
+        if (path == null) {
+            // Backend remoto (base de datos, S3) o descompresión: se copia el rango por streaming
+            try (InputStream in = sendEncoded
+                    ? fileStorageService.openStoredContent(file, start, count)
+                    : fileStorageService.openContent(file, start, count)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+}
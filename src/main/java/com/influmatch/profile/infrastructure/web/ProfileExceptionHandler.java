@@ -3,7 +3,10 @@ package com.influmatch.profile.infrastructure.web;
 import com.influmatch.profile.domain.exception.ProfileAlreadyExistsException;
 import com.influmatch.profile.domain.exception.ProfileException;
 import com.influmatch.profile.domain.exception.ProfileNotFoundException;
+import com.influmatch.profile.domain.exception.UploadOffsetMismatchException;
+import com.influmatch.profile.domain.exception.UploadSessionElsewhereException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,6 +17,8 @@ import java.util.Map;
 
 @RestControllerAdvice
 public class ProfileExceptionHandler {
+    // HttpStatus no define el 421
+    private static final HttpStatusCode MISDIRECTED_REQUEST = HttpStatusCode.valueOf(421);
 
     @ExceptionHandler(ProfileNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleProfileNotFound(ProfileNotFoundException ex) {
@@ -37,6 +42,34 @@ public class ProfileExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadOffsetMismatch(UploadOffsetMismatchException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        body.put("offset", ex.getCurrentOffset());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(UploadController.UPLOAD_OFFSET_HEADER, String.valueOf(ex.getCurrentOffset()))
+                .body(body);
+    }
+
+    @ExceptionHandler(UploadSessionElsewhereException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadSessionElsewhere(UploadSessionElsewhereException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("status", MISDIRECTED_REQUEST.value());
+        body.put("error", "Misdirected Request");
+        body.put("message", ex.getMessage());
+        body.put("node", ex.getNodeId());
+
+        return ResponseEntity.status(MISDIRECTED_REQUEST)
+                .header(UploadController.UPLOAD_NODE_HEADER, ex.getNodeId())
+                .body(body);
+    }
+
     @ExceptionHandler(ProfileException.class)
     public ResponseEntity<Map<String, Object>> handleProfileException(ProfileException ex) {
         Map<String, Object> body = new HashMap<>();
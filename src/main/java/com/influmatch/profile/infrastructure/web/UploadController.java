@@ -0,0 +1,101 @@
+package com.influmatch.profile.infrastructure.web;
+
+import com.influmatch.profile.application.dto.CreateUploadSessionRequest;
+import com.influmatch.profile.application.dto.UploadSessionResponse;
+import com.influmatch.profile.application.service.ResumableUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/files/uploads")
+@RequiredArgsConstructor
+@Tag(name = "Archivos", description = "Descarga binaria de archivos almacenados")
+@SecurityRequirement(name = "bearerAuth")
+public class UploadController {
+    public static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+    // En un 421, nodo que tiene la sesión; el balanceador o el cliente reenvían ahí
+    public static final String UPLOAD_NODE_HEADER = "Upload-Node";
+
+    private final ResumableUploadService resumableUploadService;
+
+    @Operation(
+        summary = "Iniciar subida reanudable",
+        description = "Crea una sesión de subida. El archivo se envía después en partes con PUT."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Sesión creada"),
+        @ApiResponse(responseCode = "400", description = "Extensión no permitida o tamaño excesivo")
+    })
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createSession(@Valid @RequestBody CreateUploadSessionRequest request) {
+        UploadSessionResponse session = resumableUploadService.createSession(request);
+        return ResponseEntity.created(URI.create("/api/files/uploads/" + session.getId()))
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    @Operation(
+        summary = "Consultar subida",
+        description = "Devuelve el offset actual para reanudar una subida interrumpida."
+    )
+    @RequestMapping(value = "/{id}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public ResponseEntity<UploadSessionResponse> getSession(
+            @Parameter(description = "ID de la sesión") @PathVariable String id) {
+        UploadSessionResponse session = resumableUploadService.getSession(id);
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    @Operation(
+        summary = "Enviar parte",
+        description = "Añade los bytes del cuerpo a partir del offset indicado en la cabecera Upload-Offset."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parte guardada"),
+        @ApiResponse(responseCode = "409", description = "El offset no coincide con los bytes recibidos"),
+        @ApiResponse(responseCode = "421", description = "La sesión está en otro nodo, indicado en Upload-Node")
+    })
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @Parameter(description = "ID de la sesión") @PathVariable String id,
+            @Parameter(description = "Offset en bytes donde empieza esta parte") @RequestHeader(UPLOAD_OFFSET_HEADER) long offset,
+            HttpServletRequest request) throws IOException {
+        // El cuerpo se lee directamente del request, sin pasar por un HttpMessageConverter
+        UploadSessionResponse session = resumableUploadService.appendChunk(id, offset, request.getInputStream());
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                .body(session);
+    }
+
+    @Operation(
+        summary = "Finalizar subida",
+        description = "Valida el archivo completo y devuelve su fileId, utilizable en los adjuntos del perfil."
+    )
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<UploadSessionResponse> completeSession(
+            @Parameter(description = "ID de la sesión") @PathVariable String id) {
+        return ResponseEntity.ok(resumableUploadService.completeSession(id));
+    }
+
+    @Operation(summary = "Cancelar subida", description = "Elimina la sesión y los bytes recibidos.")
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void abortSession(@Parameter(description = "ID de la sesión") @PathVariable String id) {
+        resumableUploadService.abortSession(id);
+    }
+}
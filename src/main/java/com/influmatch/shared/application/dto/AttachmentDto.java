@@ -1,5 +1,6 @@
 package com.influmatch.shared.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +22,10 @@ public class AttachmentDto {
     @Schema(description = "Tipo de medio (PHOTO, VIDEO, DOCUMENT)")
     private String mediaType;
 
-    @Schema(description = "Contenido del archivo en base64")
+    @Schema(description = "Contenido del archivo: base64 (inline) o URL (reference)")
     private String data;
+
+    @Schema(description = "Referencia al archivo (solo en modo de medios 'reference')")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MediaRefDto media;
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.influmatch.shared.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Referencia a un archivo almacenado (modo de medios 'reference')")
+public class MediaRefDto {
+    @Schema(description = "ID del archivo", example = "42")
+    private String id;
+
+    @Schema(description = "URL estable para descargar el archivo", example = "https://api.influmatch.com/api/files/42")
+    private String url;
+
+    @Schema(description = "Tipo MIME del archivo", example = "image/jpeg")
+    private String mimeType;
+
+    @Schema(description = "Tamaño del archivo en bytes", example = "184320")
+    private Long size;
+
+    @Schema(description = "Estado del archivo: PENDING mientras se procesa (sin URL), READY o FAILED",
+            example = "READY")
+    private String status;
+}
@@ -1,9 +1,12 @@
 package com.influmatch.shared.infrastructure.security;
 
 import com.influmatch.auth.infrastructure.security.CurrentUser;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 public class SecurityUtils {
     
@@ -11,4 +14,15 @@ public class SecurityUtils {
         CurrentUser currentUser = (CurrentUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         return currentUser.getId();
     }
+
+    /**
+     * Igual que getCurrentUserId, pero vacío en peticiones anónimas o fuera de una petición.
+     */
+    public Optional<Long> findCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CurrentUser currentUser) {
+            return Optional.of(currentUser.getId());
+        }
+        return Optional.empty();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Dónde se guardan físicamente los blobs. {@link BlobStore} calcula el hash y la clave
+ * (ab/cd/{sha256}); el backend solo escribe, lee y borra por clave.
+ * Se elige por despliegue con {@code application.storage.backend}: local, database o s3.
+ */
+public interface BlobBackend {
+
+    String name();
+
+    boolean exists(String key);
+
+    void write(String key, byte[] data);
+
+    /**
+     * Sube un archivo ya preparado en disco. El backend puede moverlo en lugar de copiarlo;
+     * el llamador no debe usar source después.
+     */
+    void write(String key, Path source, long size);
+
+    /**
+     * Contenido completo. El backend local lo devuelve mapeado en memoria, fuera del heap.
+     */
+    ByteBuffer read(String key);
+
+    /**
+     * Lectura parcial para peticiones Range.
+     */
+    InputStream open(String key, long offset, long length);
+
+    /**
+     * Ruta en disco si el backend es local, para servirla con sendfile.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    boolean delete(String key);
+}
@@ -0,0 +1,83 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coordina la deduplicación con el borrado de blobs del recolector mediante un advisory lock de Postgres por clave.
+ * Quien encuentra un blob ya guardado lo anota en blob_reuses con el lock compartido; el recolector comprueba y
+ * borra con el exclusivo. O el recolector ve la reutilización y deja el blob, o lo borra antes y quien sube
+ * no lo encuentra y lo escribe de nuevo.
+ */
+@Component
+public class BlobReuseGuard {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobBackend backend;
+
+    public BlobReuseGuard(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, BlobBackend backend) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Transacción propia: la anotación tiene que ser visible para el recolector antes de seguir
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.backend = backend;
+    }
+
+    /**
+     * true si el blob existe y queda anotado como reutilizado; false si hay que escribirlo.
+     */
+    public boolean reuse(String key) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock_shared(hashtext(?))", Object.class, key);
+            if (!backend.exists(key)) {
+                return false;
+            }
+            jdbcTemplate.update("INSERT INTO blob_reuses (blob_key) VALUES (?) " +
+                    "ON CONFLICT (blob_key) DO UPDATE SET reused_at = now()", key);
+            return true;
+        }));
+    }
+
+    /**
+     * Borra el blob si referenced dice que ya no lo usa nadie y no se reutilizó dentro de la ventana.
+     * Devuelve si se borró.
+     */
+    public boolean deleteIfUnused(String key, Duration reuseWindow, BooleanSupplier referenced) {
+        Timestamp windowStart = Timestamp.from(Instant.now().minus(reuseWindow));
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, key);
+            if (referenced.getAsBoolean()) {
+                jdbcTemplate.update("DELETE FROM blob_reuses WHERE blob_key = ? AND reused_at < ?", key, windowStart);
+                return false;
+            }
+            Boolean reused = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM blob_reuses WHERE blob_key = ? AND reused_at >= ?)", Boolean.class,
+                    key, windowStart);
+            if (Boolean.TRUE.equals(reused)) {
+                // Se vuelve a mirar cuando venza la entrada
+                return false;
+            }
+            jdbcTemplate.update("DELETE FROM blob_reuses WHERE blob_key = ?", key);
+            return backend.delete(key);
+        }));
+    }
+
+    /**
+     * Claves reutilizadas antes de la ventana: blobs que el recolector pudo dejar por una reutilización
+     * cuya fila nunca llegó.
+     */
+    public List<String> expiredReuses(Duration reuseWindow, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT blob_key FROM blob_reuses WHERE reused_at < ? ORDER BY reused_at LIMIT ?", String.class,
+                Timestamp.from(Instant.now().minus(reuseWindow)), limit);
+    }
+}
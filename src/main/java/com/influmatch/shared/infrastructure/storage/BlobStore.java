@@ -0,0 +1,388 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Almacén de blobs direccionado por SHA-256. Calcula el hash y la clave y delega el guardado
+ * en el {@link BlobBackend} configurado.
+ * Ej.: hash 3fa9c1... -> clave 3f/a9/3fa9c1...
+ * <p>
+ * Las subidas se preparan siempre en disco local ({root}/tmp), también las parciales de las
+ * subidas por partes, y solo el resultado final llega al backend.
+ */
+@Component
+public class BlobStore {
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final BlobBackend backend;
+    private final BlobReuseGuard reuseGuard;
+
+    @Value("${application.storage.local.root-dir}")
+    private String rootDir;
+
+    private Path root;
+    private Path tempDir;
+
+    public BlobStore(BlobBackend backend, BlobReuseGuard reuseGuard) {
+        this.backend = backend;
+        this.reuseGuard = reuseGuard;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            root = Path.of(rootDir).toAbsolutePath().normalize();
+            tempDir = root.resolve("tmp");
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not initialize blob store at " + rootDir, e);
+        }
+    }
+
+    public String backendName() {
+        return backend.name();
+    }
+
+    public StoredBlob store(byte[] data) {
+        return store(data, hash(data));
+    }
+
+    public String hash(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    /**
+     * Guarda bytes cuyo hash ya calculó el llamador, para no recorrerlos dos veces.
+     */
+    public StoredBlob store(byte[] data, String hash) {
+        return store(data, hash, ContentCodec.IDENTITY);
+    }
+
+    /**
+     * Como {@link #store(byte[], String)} pero guardando el contenido codificado con codec,
+     * salvo que la codificación no lo haga más pequeño.
+     */
+    public StoredBlob store(byte[] data, String hash, ContentCodec codec) {
+        if (codec != ContentCodec.IDENTITY) {
+            try {
+                StoredBlob encoded = encodeIntoPlace(new ByteArrayInputStream(data), hash, data.length, codec);
+                if (encoded != null) {
+                    return encoded;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not store blob", e);
+            }
+        }
+        String key = shardedPath(hash);
+        // Mismo contenido -> mismo blob, no hace falta reescribirlo
+        if (!reuseGuard.reuse(key)) {
+            backend.write(key, data);
+        }
+        return new StoredBlob(hash, data.length, key);
+    }
+
+    public StoredBlob store(InputStream in) {
+        return store(in, ContentCodec.IDENTITY);
+    }
+
+    public StoredBlob store(InputStream in, ContentCodec codec) {
+        StagedContent staged;
+        try {
+            staged = stage(in::transferTo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob", e);
+        }
+        return store(staged, codec);
+    }
+
+    /**
+     * Prepara en disco lo que escriba writer, calculando hash y tamaño al vuelo.
+     * Permite volcar contenido que llega codificado (p. ej. base64 en un JSON) sin tenerlo entero en memoria.
+     */
+    public StagedContent stage(ContentWriter writer) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = createTempFile();
+        long size;
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+            writer.writeTo(out);
+            out.flush();
+            size = Files.size(temp);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        return new StagedContent(temp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    public StoredBlob store(StagedContent staged) {
+        return store(staged, ContentCodec.IDENTITY);
+    }
+
+    /**
+     * Si falla, el contenido preparado sigue en disco: el llamante decide si reintentar o descartarlo.
+     */
+    public StoredBlob store(StagedContent staged, ContentCodec codec) {
+        try {
+            if (codec != ContentCodec.IDENTITY) {
+                StoredBlob encoded;
+                try (InputStream raw = Files.newInputStream(staged.getPath())) {
+                    encoded = encodeIntoPlace(raw, staged.getHash(), staged.getSize(), codec);
+                }
+                if (encoded != null) {
+                    discard(staged);
+                    return encoded;
+                }
+            }
+            return moveIntoPlace(staged.getPath(), new StoredBlob(staged.getHash(), staged.getSize(), shardedPath(staged.getHash())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob", e);
+        }
+    }
+
+    public void discard(StagedContent staged) {
+        deleteQuietly(staged.getPath());
+    }
+
+    /**
+     * Ruta relativa del contenido preparado, para guardarla en base de datos y retomarlo después.
+     */
+    public String stagingPath(StagedContent staged) {
+        return root.relativize(staged.getPath()).toString();
+    }
+
+    public StagedContent staged(String stagingPath, String hash, long size) {
+        return new StagedContent(resolvePartial(stagingPath), hash, size);
+    }
+
+    /**
+     * Crea un archivo parcial vacío para una subida por partes. Devuelve su ruta relativa a la raíz.
+     */
+    public String createPartialFile() {
+        try {
+            Path partial = Files.createTempFile(tempDir, "session-", ".part");
+            return root.relativize(partial).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create partial upload file", e);
+        }
+    }
+
+    /**
+     * Escribe el stream en el archivo parcial a partir de offset, sin pasar por un buffer propio.
+     * Lo que hubiera después de offset (p. ej. una parte anterior interrumpida) se descarta.
+     * Devuelve los bytes escritos; falla si el stream trae más de maxBytes.
+     */
+    public long append(String partialPath, long offset, InputStream in, long maxBytes) {
+        try (FileChannel channel = FileChannel.open(resolvePartial(partialPath), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(in)) {
+            channel.truncate(offset);
+            long written = 0;
+            long transferred;
+            while (written < maxBytes
+                    && (transferred = channel.transferFrom(source, offset + written, maxBytes - written)) > 0) {
+                written += transferred;
+            }
+            if (written == maxBytes && in.read() != -1) {
+                channel.truncate(offset);
+                throw new IllegalArgumentException("Chunk exceeds the declared upload size");
+            }
+            channel.force(false);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to " + partialPath, e);
+        }
+    }
+
+    /**
+     * Calcula el hash del archivo parcial y lo entrega al backend.
+     */
+    public StoredBlob promote(String partialPath) {
+        return promote(partialPath, ContentCodec.IDENTITY);
+    }
+
+    public StoredBlob promote(String partialPath, ContentCodec codec) {
+        Path partial = resolvePartial(partialPath);
+        MessageDigest digest = newDigest();
+        long size;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(partial), digest)) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not promote " + partialPath, e);
+        }
+        return store(new StagedContent(partial, HexFormat.of().formatHex(digest.digest()), size), codec);
+    }
+
+    public Path resolvePartial(String partialPath) {
+        Path path = root.resolve(partialPath).normalize();
+        if (!path.startsWith(tempDir)) {
+            throw new IllegalArgumentException("Invalid partial upload path: " + partialPath);
+        }
+        return path;
+    }
+
+    public void deletePartial(String partialPath) {
+        deleteQuietly(resolvePartial(partialPath));
+    }
+
+    /**
+     * Contenido completo del blob. Con el backend local viene mapeado en memoria y no pasa por el heap.
+     */
+    public ByteBuffer read(String key) {
+        return backend.read(key);
+    }
+
+    /**
+     * Contenido completo ya decodificado. Los blobs codificados se descomprimen en el heap.
+     */
+    public ByteBuffer read(String key, ContentCodec codec) {
+        ByteBuffer stored = backend.read(key);
+        if (codec == ContentCodec.IDENTITY) {
+            return stored;
+        }
+        byte[] bytes = new byte[stored.remaining()];
+        stored.get(bytes);
+        try (InputStream in = codec.decode(new ByteArrayInputStream(bytes))) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode blob " + key, e);
+        }
+    }
+
+    /**
+     * Bytes tal como están guardados (codificados, si aplica).
+     */
+    public InputStream open(String key, long offset, long length) {
+        return backend.open(key, offset, length);
+    }
+
+    /**
+     * Rango del contenido decodificado. Se descomprime en streaming desde el principio del blob
+     * y se descarta lo anterior a offset.
+     */
+    public InputStream open(String key, ContentCodec codec, long storedSize, long offset, long length) {
+        if (codec == ContentCodec.IDENTITY) {
+            return backend.open(key, offset, length);
+        }
+        InputStream stored = backend.open(key, 0, storedSize);
+        try {
+            InputStream decoded = codec.decode(stored);
+            decoded.skipNBytes(offset);
+            return new BoundedInputStream(decoded, length);
+        } catch (IOException e) {
+            try {
+                stored.close();
+            } catch (IOException ignored) {
+                // Se propaga el error original
+            }
+            throw new UncheckedIOException("Could not decode blob " + key, e);
+        }
+    }
+
+    public boolean exists(String key) {
+        return backend.exists(key);
+    }
+
+    /**
+     * Ruta en disco del blob, solo si el backend es local.
+     */
+    public Optional<Path> localPath(String key) {
+        return backend.localPath(key);
+    }
+
+    public boolean delete(String key) {
+        return backend.delete(key);
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Codifica el contenido en un temporal y lo guarda con clave {hash}{sufijo}.
+     * Devuelve null, sin guardar nada, si el resultado no es más pequeño que el original.
+     */
+    private StoredBlob encodeIntoPlace(InputStream raw, String hash, long size, ContentCodec codec) throws IOException {
+        Path encoded = createTempFile();
+        try {
+            try (OutputStream out = codec.encode(Files.newOutputStream(encoded))) {
+                raw.transferTo(out);
+            }
+            long storedSize = Files.size(encoded);
+            if (storedSize >= size) {
+                deleteQuietly(encoded);
+                return null;
+            }
+            return moveIntoPlace(encoded,
+                    new StoredBlob(hash, size, keyFor(hash, codec), codec, storedSize));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(encoded);
+            throw e;
+        }
+    }
+
+    private StoredBlob moveIntoPlace(Path temp, StoredBlob blob) {
+        if (reuseGuard.reuse(blob.getPath())) {
+            // Contenido ya almacenado: se descarta la copia nueva
+            deleteQuietly(temp);
+        } else {
+            backend.write(blob.getPath(), temp, blob.getStoredSize());
+        }
+        return blob;
+    }
+
+    /**
+     * Clave del blob para un hash y codec. Ej.: 3fa9c1..., gzip -> 3f/a9/3fa9c1....gz
+     */
+    public static String keyFor(String hash, ContentCodec codec) {
+        return shardedPath(hash) + codec.getKeySuffix();
+    }
+
+    private static String shardedPath(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private Path createTempFile() {
+        try {
+            return Files.createTempFile(tempDir, "upload-", ".part");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create temporary blob file", e);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // El archivo temporal quedará para limpieza manual
+        }
+    }
+}
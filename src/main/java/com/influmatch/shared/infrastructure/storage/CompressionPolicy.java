@@ -0,0 +1,51 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Decide con qué codec se guarda cada tipo de archivo. Solo se comprimen los tipos configurados
+ * (documentos); jpeg, png, mp4 o docx ya vienen comprimidos y no se tocan.
+ */
+@Component
+public class CompressionPolicy {
+    private final boolean enabled;
+    private final Set<String> compressibleTypes;
+
+    private final Counter logicalBytes;
+    private final Counter storedBytes;
+
+    public CompressionPolicy(@Value("${application.storage.compression.enabled}") boolean enabled,
+                             @Value("${application.storage.compression.types}") Set<String> compressibleTypes,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.compressibleTypes = compressibleTypes;
+        this.logicalBytes = Counter.builder("storage.compression.logical")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder("storage.compression.stored")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public ContentCodec codecFor(String mimeType) {
+        if (!enabled || mimeType == null) {
+            return ContentCodec.IDENTITY;
+        }
+        return compressibleTypes.contains(mimeType) ? ContentCodec.GZIP : ContentCodec.IDENTITY;
+    }
+
+    /**
+     * Acumula tamaño lógico vs guardado de los blobs comprimidos, para medir el ahorro.
+     */
+    public void record(StoredBlob blob) {
+        if (blob.getCodec() != ContentCodec.IDENTITY) {
+            logicalBytes.increment(blob.getSize());
+            storedBytes.increment(blob.getStoredSize());
+        }
+    }
+}
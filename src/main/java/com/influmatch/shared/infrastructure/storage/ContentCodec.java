@@ -0,0 +1,104 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codificación con la que se guarda un blob. El nombre coincide con el valor de Content-Encoding,
+ * así el contenido guardado se puede servir tal cual a clientes que lo acepten.
+ */
+public enum ContentCodec {
+    IDENTITY(null, ""),
+    GZIP("gzip", ".gz");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // qvalue de RFC 9110: 0 a 1 con hasta tres decimales
+    private static final Pattern QVALUE = Pattern.compile("0(\\.[0-9]{0,3})?|1(\\.0{0,3})?");
+
+    private final String contentEncoding;
+    private final String keySuffix;
+
+    ContentCodec(String contentEncoding, String keySuffix) {
+        this.contentEncoding = contentEncoding;
+        this.keySuffix = keySuffix;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Sufijo de la clave del blob: el mismo contenido con y sin codificar no comparte clave.
+     */
+    public String getKeySuffix() {
+        return keySuffix;
+    }
+
+    public OutputStream encode(OutputStream out) throws IOException {
+        return switch (this) {
+            case IDENTITY -> out;
+            case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+        };
+    }
+
+    public InputStream decode(InputStream in) throws IOException {
+        return switch (this) {
+            case IDENTITY -> in;
+            case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+        };
+    }
+
+    /**
+     * Si una cabecera Accept-Encoding (varias cabeceras, unidas por comas) admite esta codificación.
+     * La entrada explícita manda sobre "*"; q=0 o un q mal formado cuentan como no aceptable,
+     * y entonces se sirve sin codificar, que siempre vale.
+     */
+    public boolean isAcceptedBy(String acceptEncoding) {
+        if (this == IDENTITY) {
+            return true;
+        }
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double exact = null;
+        Double wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(contentEncoding) && exact == null) {
+                exact = qvalue(parts);
+            } else if (name.equals("*") && wildcard == null) {
+                wildcard = qvalue(parts);
+            }
+        }
+        double q = exact != null ? exact : wildcard != null ? wildcard : 0;
+        return q > 0;
+    }
+
+    private static double qvalue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                String value = parameter[1].trim();
+                return QVALUE.matcher(value).matches() ? Double.parseDouble(value) : 0;
+            }
+        }
+        return 1;
+    }
+
+    public static ContentCodec fromContentEncoding(String contentEncoding) {
+        if (contentEncoding == null) {
+            return IDENTITY;
+        }
+        for (ContentCodec codec : values()) {
+            if (contentEncoding.equals(codec.contentEncoding)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown content encoding: " + contentEncoding);
+    }
+}
@@ -0,0 +1,62 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Detecta el tipo MIME a partir de los primeros bytes (magic numbers) de los formatos que aceptamos.
+ */
+public final class ContentTypeSniffer {
+    public static final int HEADER_LENGTH = 16;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] GIF87 = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89 = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF = "%PDF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OLE2 = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP = {'P', 'K', 0x03, 0x04};
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] AVI = "AVI ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FTYP = "ftyp".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUICKTIME = "qt  ".getBytes(StandardCharsets.US_ASCII);
+
+    private ContentTypeSniffer() {
+    }
+
+    /**
+     * Lee la cabecera sin consumirla. El stream debe soportar mark/reset.
+     */
+    public static String sniff(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("Stream must support mark/reset");
+        }
+        in.mark(HEADER_LENGTH);
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        in.reset();
+        return sniff(header);
+    }
+
+    public static String sniff(byte[] header) {
+        if (startsWith(header, 0, JPEG)) return "image/jpeg";
+        if (startsWith(header, 0, PNG)) return "image/png";
+        if (startsWith(header, 0, GIF87) || startsWith(header, 0, GIF89)) return "image/gif";
+        if (startsWith(header, 0, PDF)) return "application/pdf";
+        if (startsWith(header, 0, OLE2)) return "application/msword";
+        if (startsWith(header, 0, ZIP)) return "application/zip";
+        if (startsWith(header, 0, RIFF) && startsWith(header, 8, AVI)) return "video/x-msvideo";
+        if (startsWith(header, 4, FTYP)) {
+            return startsWith(header, 8, QUICKTIME) ? "video/quicktime" : "video/mp4";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length < offset + prefix.length) {
+            return false;
+        }
+        return Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+}
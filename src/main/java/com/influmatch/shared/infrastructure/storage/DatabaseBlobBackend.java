@@ -0,0 +1,105 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Blobs en la tabla blob_contents (bytea). Pensado para despliegues sin disco persistente;
+ * cada lectura pasa por el heap, así que no conviene para videos grandes.
+ */
+@Component
+@ConditionalOnProperty(name = "application.storage.backend", havingValue = "database")
+public class DatabaseBlobBackend implements BlobBackend {
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseBlobBackend(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "database";
+    }
+
+    @Override
+    public boolean exists(String key) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM blob_contents WHERE blob_key = ?)", Boolean.class, key);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    @Override
+    public void write(String key, byte[] data) {
+        insert(key, data.length, ps -> ps.setBytes(2, data));
+    }
+
+    @Override
+    public void write(String key, Path source, long size) {
+        try (InputStream in = Files.newInputStream(source)) {
+            insert(key, size, ps -> ps.setBinaryStream(2, in, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + source, e);
+        } finally {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ignored) {
+                // Se limpia con el resto de temporales
+            }
+        }
+    }
+
+    @Override
+    public ByteBuffer read(String key) {
+        List<byte[]> rows = jdbcTemplate.query(
+                "SELECT data FROM blob_contents WHERE blob_key = ?", (rs, i) -> rs.getBytes(1), key);
+        if (rows.isEmpty()) {
+            throw new UncheckedIOException(new IOException("Blob not found: " + key));
+        }
+        return ByteBuffer.wrap(rows.get(0));
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) {
+        // substring sobre bytea es 1-based y solo acepta int; un bytea no pasa de 1 GB, así que caben
+        List<byte[]> rows = jdbcTemplate.query(
+                "SELECT substring(data FROM ?::int FOR ?::int) FROM blob_contents WHERE blob_key = ?",
+                (rs, i) -> rs.getBytes(1), Math.toIntExact(offset + 1), Math.toIntExact(length), key);
+        if (rows.isEmpty()) {
+            throw new UncheckedIOException(new IOException("Blob not found: " + key));
+        }
+        return new ByteArrayInputStream(rows.get(0));
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return jdbcTemplate.update("DELETE FROM blob_contents WHERE blob_key = ?", key) > 0;
+    }
+
+    private void insert(String key, long size, DataBinder binder) {
+        // Mismo hash -> mismo contenido: si la clave ya existe no hay nada que escribir
+        jdbcTemplate.update(
+                "INSERT INTO blob_contents (blob_key, data, size_bytes) VALUES (?, ?, ?) ON CONFLICT (blob_key) DO NOTHING",
+                ps -> {
+                    ps.setString(1, key);
+                    binder.bind(ps);
+                    ps.setLong(3, size);
+                });
+    }
+
+    @FunctionalInterface
+    private interface DataBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+}
@@ -0,0 +1,106 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Blobs como archivos bajo {@code application.storage.local.root-dir}.
+ */
+@Component
+@ConditionalOnProperty(name = "application.storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBlobBackend implements BlobBackend {
+    private final Path root;
+
+    public LocalBlobBackend(@Value("${application.storage.local.root-dir}") String rootDir) {
+        this.root = Path.of(rootDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void write(String key, byte[] data) {
+        Path target = resolve(key);
+        try {
+            Path temp = Files.createTempFile(root.resolve("tmp"), "blob-", ".part");
+            Files.write(temp, data);
+            write(key, temp, data.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write blob " + target, e);
+        }
+    }
+
+    @Override
+    public void write(String key, Path source, long size) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            // Rename atómico: si otro hilo ya escribió el mismo hash, el contenido es idéntico
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write blob " + target, e);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(String key) {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blob " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+            channel.position(offset);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open blob " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public boolean delete(String key) {
+        try {
+            return Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete blob " + key, e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+}
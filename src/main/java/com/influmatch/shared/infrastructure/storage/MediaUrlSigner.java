@@ -0,0 +1,168 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * URLs firmadas para servir blobs sin JWT ni base de datos:
+ * {@code /media/{sha256}.{ext}[.gz]?len={bytes}&exp={epoch}&sig={hmac}}.
+ * <p>
+ * El nombre lleva el hash del contenido, así que la URL identifica bytes inmutables y se puede cachear
+ * indefinidamente. La expiración se redondea a ventanas de {@code ttl} para que la misma URL se repita
+ * entre respuestas y los navegadores y el proxy reutilicen su copia.
+ */
+@Slf4j
+@Component
+public class MediaUrlSigner {
+    public static final String PATH_PREFIX = "/media/";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern MEDIA_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,5})");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    // Perfiles de un solo nodo en los que se admite una clave aleatoria; sin perfil activo es local
+    private static final Set<String> SINGLE_NODE_PROFILES = Set.of("local", "test");
+
+    @Autowired
+    public MediaUrlSigner(@Value("${application.media.signing.secret}") String secret,
+                          @Value("${application.media.signing.ttl}") Duration ttl,
+                          Environment environment) {
+        this(requireSharedSecret(secret, environment), ttl, Clock.systemUTC());
+    }
+
+    MediaUrlSigner(String secret, Duration ttl, Clock clock) {
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttlSeconds = ttl.toSeconds();
+        this.clock = clock;
+    }
+
+    /**
+     * Ruta firmada del blob, o vacío si el archivo no sigue el esquema direccionado por contenido
+     * (p. ej. sin extensión reconocible) y hay que servirlo por /api/files.
+     */
+    public Optional<String> sign(String storagePath, String hash, String fileName, ContentCodec codec, long storedSize) {
+        String extension = extensionOf(fileName);
+        if (hash == null || !HASH.matcher(hash).matches() || extension == null || !BlobStore.keyFor(hash, codec).equals(storagePath)) {
+            return Optional.empty();
+        }
+        String name = hash + "." + extension + codec.getKeySuffix();
+        long now = clock.instant().getEpochSecond();
+        // Entre ttl y 2*ttl en el futuro, igual para todas las firmas de la misma ventana
+        long expires = (now / ttlSeconds + 2) * ttlSeconds;
+        return Optional.of(PATH_PREFIX + name + "?len=" + storedSize + "&exp=" + expires
+                + "&sig=" + signature(name, storedSize, expires));
+    }
+
+    /**
+     * Comprueba firma y expiración. name es la parte de la ruta tras /media/.
+     */
+    public Optional<SignedMedia> verify(String name, String length, String expires, String signature) {
+        if (name == null || length == null || expires == null || signature == null) {
+            return Optional.empty();
+        }
+        long storedSize;
+        long expiresAt;
+        try {
+            storedSize = Long.parseLong(length);
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (expiresAt < clock.instant().getEpochSecond()) {
+            return Optional.empty();
+        }
+        byte[] expected = signature(name, storedSize, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.empty();
+        }
+
+        ContentCodec codec = ContentCodec.IDENTITY;
+        String baseName = name;
+        for (ContentCodec candidate : ContentCodec.values()) {
+            if (!candidate.getKeySuffix().isEmpty() && name.endsWith(candidate.getKeySuffix())) {
+                codec = candidate;
+                baseName = name.substring(0, name.length() - candidate.getKeySuffix().length());
+            }
+        }
+        Matcher matcher = MEDIA_NAME.matcher(baseName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SignedMedia(BlobStore.keyFor(matcher.group(1), codec), matcher.group(1),
+                baseName, codec, storedSize, expiresAt));
+    }
+
+    private String signature(String name, long storedSize, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((name + "\n" + storedSize + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+
+    private static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot == -1 ? null : fileName.substring(dot + 1).toLowerCase();
+        return extension != null && EXTENSION.matcher(extension).matches() ? extension : null;
+    }
+
+    /**
+     * Fuera de local/test la clave tiene que ser la misma en todos los nodos y sobrevivir a los reinicios,
+     * o las URLs ya entregadas dejan de validar: sin secreto no se arranca.
+     */
+    static String requireSharedSecret(String secret, Environment environment) {
+        if ((secret == null || secret.isBlank())
+                && !SINGLE_NODE_PROFILES.containsAll(Arrays.asList(environment.getActiveProfiles()))) {
+            throw new IllegalStateException("application.media.signing.secret (MEDIA_SIGNING_SECRET) must be set for profiles "
+                    + Arrays.toString(environment.getActiveProfiles()));
+        }
+        return secret;
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        // Solo en local/test: las URLs valen en este nodo y hasta reiniciar
+        log.warn("application.media.signing.secret is not set; using a random key for signed media URLs");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * Blob identificado por una URL firmada válida. expiresAt es el exp de la URL, en segundos epoch.
+     */
+    public record SignedMedia(String key, String hash, String fileName, ContentCodec codec, long storedSize,
+                              long expiresAt) {
+    }
+}
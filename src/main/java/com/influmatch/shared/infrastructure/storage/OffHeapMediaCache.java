@@ -0,0 +1,144 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché LRU limitada por bytes para medios muy leídos (avatares, logos ya codificados en base64).
+ * El contenido vive en buffers directos fuera del heap; en el heap solo quedan las claves y los descriptores.
+ * Las claves llevan prefijo por tipo de contenido, p. ej. "b64:42".
+ */
+@Component
+public class OffHeapMediaCache {
+    private final ReentrantLock lock = new ReentrantLock();
+    // accessOrder = true: el primero del mapa es el menos usado recientemente
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long sizeBytes;
+
+    private final boolean enabled;
+    private final long capacityBytes;
+    private final long maxEntryBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public OffHeapMediaCache(@Value("${application.storage.cache.enabled}") boolean enabled,
+                             @Value("${application.storage.cache.capacity}") DataSize capacity,
+                             @Value("${application.storage.cache.max-entry-size}") DataSize maxEntrySize,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.capacityBytes = capacity.toBytes();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.hits = Counter.builder("media.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("media.cache.misses").register(meterRegistry);
+        this.evictions = Counter.builder("media.cache.evictions").register(meterRegistry);
+        Gauge.builder("media.cache.size", this, OffHeapMediaCache::sizeBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("media.cache.entries", this, OffHeapMediaCache::entryCount)
+                .register(meterRegistry);
+    }
+
+    public static String base64Key(Object fileId) {
+        return "b64:" + fileId;
+    }
+
+    /**
+     * Invalida todas las formas cacheadas de un archivo (hoy solo su base64).
+     */
+    public void invalidateFile(Object fileId) {
+        invalidate(base64Key(fileId));
+    }
+
+    /**
+     * Vista de solo lectura del contenido, o null si no está en caché.
+     */
+    public ByteBuffer get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        lock.lock();
+        try {
+            ByteBuffer buffer = entries.get(key);
+            if (buffer == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return buffer.asReadOnlyBuffer();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia el contenido a memoria directa. Las entradas mayores que max-entry-size no se guardan,
+     * para que un video no desaloje todos los avatares.
+     */
+    public void put(String key, ByteBuffer content) {
+        int length = content.remaining();
+        if (!enabled || length > maxEntryBytes) {
+            return;
+        }
+        // La copia se hace fuera del lock
+        ByteBuffer copy = ByteBuffer.allocateDirect(length);
+        copy.put(content.duplicate()).flip();
+
+        lock.lock();
+        try {
+            ByteBuffer previous = entries.put(key, copy);
+            if (previous != null) {
+                sizeBytes -= previous.capacity();
+            }
+            sizeBytes += length;
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            ByteBuffer removed = entries.remove(key);
+            if (removed != null) {
+                sizeBytes -= removed.capacity();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, ByteBuffer>> iterator = entries.entrySet().iterator();
+        while (sizeBytes > capacityBytes && iterator.hasNext()) {
+            sizeBytes -= iterator.next().getValue().capacity();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private double sizeBytes() {
+        return sizeBytes;
+    }
+
+    private double entryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
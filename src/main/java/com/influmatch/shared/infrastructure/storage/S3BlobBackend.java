@@ -0,0 +1,211 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+/**
+ * Blobs en un bucket compatible con S3 (AWS, MinIO, R2...). Usa el HttpClient del JDK con firma
+ * SigV4 y direccionamiento path-style ({endpoint}/{bucket}/{key}), que es lo que acepta MinIO en local.
+ */
+@Component
+@ConditionalOnProperty(name = "application.storage.backend", havingValue = "s3")
+public class S3BlobBackend implements BlobBackend {
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter AMZ_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String region;
+    private final String bucket;
+    private final String accessKey;
+    private final String secretKey;
+
+    public S3BlobBackend(@Value("${application.storage.s3.endpoint}") String endpoint,
+                         @Value("${application.storage.s3.region}") String region,
+                         @Value("${application.storage.s3.bucket}") String bucket,
+                         @Value("${application.storage.s3.access-key}") String accessKey,
+                         @Value("${application.storage.s3.secret-key}") String secretKey) {
+        this.endpoint = URI.create(endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+        this.region = region;
+        this.bucket = bucket;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "s3";
+    }
+
+    @Override
+    public boolean exists(String key) {
+        HttpResponse<Void> response = send(request("HEAD", key, null)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        expectSuccess(response, key);
+        return true;
+    }
+
+    @Override
+    public void write(String key, byte[] data) {
+        HttpResponse<Void> response = send(request("PUT", key, null)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(data)), HttpResponse.BodyHandlers.discarding());
+        expectSuccess(response, key);
+    }
+
+    @Override
+    public void write(String key, Path source, long size) {
+        try {
+            HttpResponse<Void> response = send(request("PUT", key, null)
+                    .PUT(HttpRequest.BodyPublishers.ofFile(source)), HttpResponse.BodyHandlers.discarding());
+            expectSuccess(response, key);
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ignored) {
+                // Se limpia con el resto de temporales
+            }
+        }
+    }
+
+    @Override
+    public ByteBuffer read(String key) {
+        HttpResponse<byte[]> response = send(request("GET", key, null).GET(), HttpResponse.BodyHandlers.ofByteArray());
+        expectSuccess(response, key);
+        return ByteBuffer.wrap(response.body());
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) {
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        HttpResponse<InputStream> response = send(request("GET", key, range).GET(), HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() >= 300) {
+            closeQuietly(response.body());
+            expectSuccess(response, key);
+        }
+        return response.body();
+    }
+
+    @Override
+    public boolean delete(String key) {
+        HttpResponse<Void> response = send(request("DELETE", key, null).DELETE(), HttpResponse.BodyHandlers.discarding());
+        expectSuccess(response, key);
+        return true;
+    }
+
+    private HttpRequest.Builder request(String method, String key, String range) {
+        String path = "/" + bucket + "/" + key;
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String amzDate = AMZ_DATE.format(now);
+        String day = AMZ_DAY.format(now);
+        String host = endpoint.getPort() == -1 ? endpoint.getHost() : endpoint.getHost() + ":" + endpoint.getPort();
+
+        // Las claves son hex y "/", no necesitan más codificación que la de la URI
+        String canonicalRequest = method + "\n"
+                + endpoint.getRawPath() + path + "\n"
+                + "\n"
+                + "host:" + host + "\n"
+                + "x-amz-content-sha256:" + UNSIGNED_PAYLOAD + "\n"
+                + "x-amz-date:" + amzDate + "\n"
+                + "\n"
+                + "host;x-amz-content-sha256;x-amz-date\n"
+                + UNSIGNED_PAYLOAD;
+        String scope = day + "/" + region + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+        String signature = HexFormat.of().formatHex(hmac(signingKey(day), stringToSign));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpoint + path))
+                .timeout(Duration.ofMinutes(5))
+                .header("x-amz-date", amzDate)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("Authorization", "AWS4-HMAC-SHA256 Credential=" + accessKey + "/" + scope
+                        + ", SignedHeaders=host;x-amz-content-sha256;x-amz-date, Signature=" + signature);
+        if (range != null) {
+            builder.header("Range", range);
+        }
+        return builder;
+    }
+
+    private byte[] signingKey(String day) {
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), day);
+        key = hmac(key, region);
+        key = hmac(key, "s3");
+        return hmac(key, "aws4_request");
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler) {
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException("S3 request failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during S3 request", e);
+        }
+    }
+
+    private void expectSuccess(HttpResponse<?> response, String key) {
+        if (response.statusCode() >= 300) {
+            throw new UncheckedIOException(new IOException(
+                    "S3 " + response.request().method() + " " + key + " failed with status " + response.statusCode()));
+        }
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // Nada que hacer
+        }
+    }
+}
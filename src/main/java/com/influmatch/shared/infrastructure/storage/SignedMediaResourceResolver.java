@@ -0,0 +1,200 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resuelve /media/** a partir de la URL firmada, sin consultar la base de datos:
+ * la clave, el tipo (por la extensión) y el tamaño salen de la propia URL.
+ * <p>
+ * Los blobs guardados comprimidos se sirven tal cual a quien acepte su Content-Encoding y descomprimidos
+ * en streaming al resto; en ambos casos con Vary: Accept-Encoding para que las cachés no los mezclen.
+ * <p>
+ * El contenido no cambia nunca (immutable), pero una caché compartida solo puede guardarlo mientras la
+ * firma sea válida: max-age se calcula en cada respuesta a partir del exp de la URL.
+ */
+public class SignedMediaResourceResolver implements ResourceResolver {
+    private final MediaUrlSigner signer;
+    private final BlobStore blobStore;
+
+    public SignedMediaResourceResolver(MediaUrlSigner signer, BlobStore blobStore) {
+        this.signer = signer;
+        this.blobStore = blobStore;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        if (request == null) {
+            return null;
+        }
+        return signer.verify(requestPath,
+                        request.getParameter("len"),
+                        request.getParameter("exp"),
+                        request.getParameter("sig"))
+                .map(media -> new BlobResource(media, blobStore,
+                        media.codec() != ContentCodec.IDENTITY && !acceptsEncoding(request, media.codec())))
+                // Firma válida pero blob borrado: 404, no un error al abrirlo
+                .filter(BlobResource::exists)
+                .orElse(null);
+    }
+
+    /**
+     * ETag de la representación servida: el nombre con el sufijo del codec solo si va codificada.
+     */
+    public static String etag(Resource resource) {
+        if (resource instanceof BlobResource blob) {
+            return "\"" + blob.representationName() + "\"";
+        }
+        return "\"" + resource.getFilename() + "\"";
+    }
+
+    static boolean acceptsEncoding(HttpServletRequest request, ContentCodec codec) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        return headers != null && codec.isAcceptedBy(String.join(",", Collections.list(headers)));
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        // Las URLs las genera MediaUrlSigner
+        return null;
+    }
+
+    static final class BlobResource extends AbstractResource implements HttpResource {
+        private final MediaUrlSigner.SignedMedia media;
+        private final BlobStore blobStore;
+        // El cliente no acepta el Content-Encoding del blob: se sirve descomprimido
+        private final boolean decode;
+        private Boolean exists;
+        private long decodedLength = -1;
+
+        BlobResource(MediaUrlSigner.SignedMedia media, BlobStore blobStore, boolean decode) {
+            this.media = media;
+            this.blobStore = blobStore;
+            this.decode = decode;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            if (decode) {
+                return blobStore.open(media.key(), media.codec(), media.storedSize(), 0, contentLength());
+            }
+            return blobStore.open(media.key(), 0, media.storedSize());
+        }
+
+        @Override
+        public long contentLength() {
+            if (!decode) {
+                return media.storedSize();
+            }
+            if (decodedLength < 0) {
+                decodedLength = readDecodedLength();
+            }
+            return decodedLength;
+        }
+
+        @Override
+        public boolean exists() {
+            if (exists == null) {
+                exists = blobStore.exists(media.key());
+            }
+            return exists;
+        }
+
+        @Override
+        public boolean isFile() {
+            // Descomprimido no hay archivo que servir directamente
+            return !decode && blobStore.localPath(media.key()).isPresent();
+        }
+
+        @Override
+        public File getFile() throws FileNotFoundException {
+            if (decode) {
+                throw new FileNotFoundException(media.key() + " is served decoded");
+            }
+            return blobStore.localPath(media.key())
+                    .map(Path::toFile)
+                    .orElseThrow(() -> new FileNotFoundException(media.key() + " is not stored on local disk"));
+        }
+
+        /**
+         * Nombre sin el sufijo del codec: el tipo MIME se deduce de la extensión original.
+         */
+        @Override
+        public String getFilename() {
+            return media.fileName();
+        }
+
+        String representationName() {
+            return decode ? media.fileName() : media.fileName() + media.codec().getKeySuffix();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Blob [" + media.key() + (decode ? ", decoded" : "") + "]";
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            long remaining = Math.max(0, media.expiresAt() - Instant.now().getEpochSecond());
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(remaining)).cachePublic().immutable());
+            if (media.codec() != ContentCodec.IDENTITY) {
+                if (!decode) {
+                    headers.set(HttpHeaders.CONTENT_ENCODING, media.codec().getContentEncoding());
+                }
+                headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return headers;
+        }
+
+        /**
+         * Tamaño sin comprimir, de los 4 últimos bytes del gzip (módulo 2^32; ningún blob llega a 4 GB).
+         */
+        private long readDecodedLength() {
+            if (media.codec() != ContentCodec.GZIP || media.storedSize() < 4) {
+                throw new IllegalStateException("Cannot tell the decoded length of " + media.key());
+            }
+            try (InputStream in = blobStore.open(media.key(), media.storedSize() - 4, 4)) {
+                byte[] trailer = in.readNBytes(4);
+                if (trailer.length < 4) {
+                    throw new IOException("Truncated gzip trailer");
+                }
+                return ByteBuffer.wrap(trailer).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the decoded length of " + media.key(), e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other
+                    || (other instanceof BlobResource that && media.equals(that.media) && decode == that.decode);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * media.hashCode() + Boolean.hashCode(decode);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Contenido preparado en el directorio temporal del almacén, con hash y tamaño ya calculados.
+ * Se guarda con {@link BlobStore#store(StagedContent)} o se descarta con {@link BlobStore#discard(StagedContent)}.
+ */
+@Value
+public class StagedContent {
+    Path path;
+    String hash;
+    long size;
+}
@@ -0,0 +1,23 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Blob escrito en el almacén direccionado por contenido.
+ * {@code path} es relativo a la raíz del almacén; {@code hash} y {@code size} son los del contenido
+ * sin codificar, {@code storedSize} lo que ocupa realmente en el backend.
+ */
+@Value
+@AllArgsConstructor
+public class StoredBlob {
+    String hash;
+    long size;
+    String path;
+    ContentCodec codec;
+    long storedSize;
+
+    public StoredBlob(String hash, long size, String path) {
+        this(hash, size, path, ContentCodec.IDENTITY, size);
+    }
+}
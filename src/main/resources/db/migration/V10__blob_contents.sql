@@ -0,0 +1,7 @@
+/* Backend "database" del almacén de blobs (application.storage.backend = database) */
+CREATE TABLE IF NOT EXISTS blob_contents (
+    blob_key    VARCHAR(255) PRIMARY KEY,
+    data        BYTEA        NOT NULL,
+    size_bytes  BIGINT       NOT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,3 @@
+/* Compresión de documentos: codificación del blob y tamaño real guardado (size_bytes sigue siendo el lógico) */
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS content_encoding  VARCHAR(20);
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS stored_size_bytes BIGINT;
@@ -0,0 +1,6 @@
+/* Procesamiento asíncrono de subidas: estado por archivo y ruta del contenido aún sin procesar */
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS status         VARCHAR(20)  NOT NULL DEFAULT 'READY';
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS staging_path   VARCHAR(255);
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS failure_reason VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_stored_files_pending ON stored_files (created_at) WHERE status = 'PENDING';
@@ -0,0 +1,12 @@
+/* Paginación por cursor del historial de un chat: (chat_id, created_at, id) sirve en ambos sentidos */
+CREATE TABLE IF NOT EXISTS message (
+    id              BIGSERIAL PRIMARY KEY,
+    chat_id         BIGINT,
+    sender_id       BIGINT,
+    receiver_id     BIGINT,
+    content         TEXT,
+    attachment_url  VARCHAR(255),
+    created_at      TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_message_chat_created_id ON message (chat_id, created_at, id);
@@ -0,0 +1,24 @@
+/* El listado de chats se arma solo con la fila de chat: último mensaje y última actividad desnormalizados */
+CREATE TABLE IF NOT EXISTS chat (
+    id               BIGSERIAL PRIMARY KEY,
+    user_id          BIGINT,
+    interlocutor_id  BIGINT,
+    unread_count     INTEGER NOT NULL DEFAULT 0
+);
+
+ALTER TABLE chat ADD COLUMN IF NOT EXISTS last_message_id      BIGINT;
+ALTER TABLE chat ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(140);
+ALTER TABLE chat ADD COLUMN IF NOT EXISTS last_activity_at     TIMESTAMP WITH TIME ZONE;
+
+-- Relleno con el mensaje más reciente de cada chat
+UPDATE chat c
+SET last_message_id      = m.id,
+    last_message_preview = LEFT(m.content, 140),
+    last_activity_at     = m.created_at
+FROM (SELECT DISTINCT ON (chat_id) id, chat_id, content, created_at
+      FROM message
+      ORDER BY chat_id, created_at DESC, id DESC) m
+WHERE m.chat_id = c.id
+  AND c.last_message_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_chat_user_last_activity ON chat (user_id, last_activity_at DESC NULLS LAST, id DESC);
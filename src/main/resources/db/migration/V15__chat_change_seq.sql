@@ -0,0 +1,34 @@
+/* Secuencia de cambios para /api/chats/sync: cada alta o modificación de chat o message toma el siguiente valor */
+CREATE SEQUENCE IF NOT EXISTS chat_change_seq;
+
+ALTER TABLE chat    ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE chat    ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE message ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE message ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP WITH TIME ZONE;
+
+-- Relleno de las filas existentes antes de crear los triggers
+UPDATE message SET change_seq = nextval('chat_change_seq'), changed_at = COALESCE(created_at, now())
+WHERE change_seq IS NULL;
+UPDATE chat SET change_seq = nextval('chat_change_seq'), changed_at = COALESCE(last_activity_at, now())
+WHERE change_seq IS NULL;
+
+-- clock_timestamp y no now(): dentro de una transacción larga now() se queda fijo
+CREATE OR REPLACE FUNCTION chat_touch_change() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := nextval('chat_change_seq');
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_chat_change ON chat;
+CREATE TRIGGER trg_chat_change BEFORE INSERT OR UPDATE ON chat
+    FOR EACH ROW EXECUTE FUNCTION chat_touch_change();
+
+DROP TRIGGER IF EXISTS trg_message_change ON message;
+CREATE TRIGGER trg_message_change BEFORE INSERT OR UPDATE ON message
+    FOR EACH ROW EXECUTE FUNCTION chat_touch_change();
+
+CREATE INDEX IF NOT EXISTS idx_chat_user_change_seq ON chat (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_message_sender_change_seq ON message (sender_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_message_receiver_change_seq ON message (receiver_id, change_seq);
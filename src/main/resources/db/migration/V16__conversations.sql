@@ -0,0 +1,75 @@
+/* Una conversación por pareja de usuarios; cada fila de chat pasa a ser un participante de ella */
+CREATE TABLE IF NOT EXISTS conversation (
+    id            BIGSERIAL PRIMARY KEY,
+    user_low_id   BIGINT NOT NULL,
+    user_high_id  BIGINT NOT NULL,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT uk_conversation_pair UNIQUE (user_low_id, user_high_id),
+    CONSTRAINT ck_conversation_pair_order CHECK (user_low_id <= user_high_id)
+);
+
+ALTER TABLE chat ADD COLUMN IF NOT EXISTS conversation_id BIGINT;
+
+INSERT INTO conversation (user_low_id, user_high_id)
+SELECT DISTINCT LEAST(user_id, interlocutor_id), GREATEST(user_id, interlocutor_id)
+FROM chat
+WHERE user_id IS NOT NULL AND interlocutor_id IS NOT NULL
+ON CONFLICT (user_low_id, user_high_id) DO NOTHING;
+
+UPDATE chat c
+SET conversation_id = v.id
+FROM conversation v
+WHERE v.user_low_id = LEAST(c.user_id, c.interlocutor_id)
+  AND v.user_high_id = GREATEST(c.user_id, c.interlocutor_id)
+  AND c.conversation_id IS NULL;
+
+-- message.chat_id apuntaba a la fila de chat del remitente; desde aquí guarda el ID de la conversación
+UPDATE message m
+SET chat_id = c.conversation_id
+FROM chat c
+WHERE m.chat_id = c.id;
+
+-- Filas de chat duplicadas para la misma pareja: se queda la más antigua, con la suma de no leídos
+UPDATE chat k
+SET unread_count = d.total
+FROM (SELECT MIN(id) AS keep_id, SUM(unread_count) AS total
+      FROM chat
+      GROUP BY user_id, interlocutor_id
+      HAVING COUNT(*) > 1) d
+WHERE k.id = d.keep_id;
+
+DELETE FROM chat c
+USING chat k
+WHERE c.user_id = k.user_id
+  AND c.interlocutor_id = k.interlocutor_id
+  AND c.id > k.id;
+
+-- El otro participante, si aún no tenía fila
+INSERT INTO chat (conversation_id, user_id, interlocutor_id, unread_count)
+SELECT c.conversation_id, c.interlocutor_id, c.user_id, 0
+FROM chat c
+WHERE NOT EXISTS (SELECT 1 FROM chat o
+                  WHERE o.conversation_id = c.conversation_id AND o.user_id = c.interlocutor_id);
+
+DELETE FROM chat WHERE conversation_id IS NULL;
+ALTER TABLE chat ALTER COLUMN conversation_id SET NOT NULL;
+
+-- Último mensaje de nuevo, ahora por conversación y para ambos participantes
+UPDATE chat c
+SET last_message_id      = m.id,
+    last_message_preview = LEFT(m.content, 140),
+    last_activity_at     = m.created_at
+FROM (SELECT DISTINCT ON (chat_id) id, chat_id, content, created_at
+      FROM message
+      ORDER BY chat_id, created_at DESC, id DESC) m
+WHERE m.chat_id = c.conversation_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_chat_conversation_user') THEN
+        ALTER TABLE chat ADD CONSTRAINT uk_chat_conversation_user UNIQUE (conversation_id, user_id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_chat_user_interlocutor') THEN
+        ALTER TABLE chat ADD CONSTRAINT uk_chat_user_interlocutor UNIQUE (user_id, interlocutor_id);
+    END IF;
+END $$;
@@ -0,0 +1,12 @@
+/* Comprobación de acceso a adjuntos en GET /api/files/{id}: mensajes que referencian un archivo */
+CREATE TABLE IF NOT EXISTS message (
+    id              BIGSERIAL PRIMARY KEY,
+    chat_id         BIGINT,
+    sender_id       BIGINT,
+    receiver_id     BIGINT,
+    content         TEXT,
+    attachment_url  VARCHAR(255),
+    created_at      TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_message_attachment_url ON message (attachment_url) WHERE attachment_url IS NOT NULL;
@@ -0,0 +1,6 @@
+/* Procesamiento de subidas con varias instancias: el contenido preparado está en el disco local del nodo
+   que la aceptó, así que solo ese nodo la procesa; claimed_until evita procesarla dos veces a la vez */
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS staged_by     VARCHAR(64);
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_stored_files_pending_node ON stored_files (staged_by, created_at) WHERE status = 'PENDING';
@@ -0,0 +1,8 @@
+/* Blobs reutilizados por deduplicación hace poco. El recolector no borra un blob con una entrada reciente:
+   quien lo reutilizó todavía puede estar registrando su fila. Las entradas vencidas se revisan y se borran */
+CREATE TABLE IF NOT EXISTS blob_reuses (
+    blob_key   VARCHAR(255) PRIMARY KEY,
+    reused_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_blob_reuses_reused_at ON blob_reuses (reused_at);
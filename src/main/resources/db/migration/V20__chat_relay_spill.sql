@@ -0,0 +1,9 @@
+/* Pushes del relay de chat que no caben en un NOTIFY (8000 bytes): la notificación lleva solo el id
+   y los nodos que tienen conectado al destinatario leen el cuerpo de aquí. Se borran al poco tiempo */
+CREATE TABLE IF NOT EXISTS chat_relay_spill (
+    id          BIGSERIAL PRIMARY KEY,
+    payload     TEXT                     NOT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_relay_spill_created_at ON chat_relay_spill (created_at);
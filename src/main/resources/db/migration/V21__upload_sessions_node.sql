@@ -0,0 +1,5 @@
+/* Subidas reanudables con varias instancias: el archivo parcial está en el disco local del nodo que creó
+   la sesión, así que solo ese nodo acepta sus partes. Las sesiones sin nodo (anteriores) valen en cualquiera */
+ALTER TABLE upload_sessions ADD COLUMN IF NOT EXISTS node_id VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_node_expires_at ON upload_sessions (node_id, expires_at);
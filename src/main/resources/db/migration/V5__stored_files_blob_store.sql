@@ -0,0 +1,22 @@
+/* stored_files pasa a guardar solo metadatos; el contenido vive en el almacén de blobs */
+CREATE TABLE IF NOT EXISTS stored_files (
+    id         BIGSERIAL PRIMARY KEY,
+    file_name  VARCHAR(255) NOT NULL,
+    mime_type  VARCHAR(255) NOT NULL
+);
+
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS size_bytes   BIGINT;
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS storage_path VARCHAR(255);
+
+-- La columna legacy "data" se vacía a medida que StoredFileMigrationJob mueve los blobs
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'stored_files' AND column_name = 'data') THEN
+        ALTER TABLE stored_files ALTER COLUMN data DROP NOT NULL;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_stored_files_content_hash ON stored_files (content_hash);
+CREATE INDEX IF NOT EXISTS idx_stored_files_pending_migration ON stored_files (id) WHERE storage_path IS NULL;
@@ -0,0 +1,13 @@
+/* Sesiones de subida reanudable (POST /api/files/uploads) */
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id              VARCHAR(36) PRIMARY KEY,
+    owner_id        BIGINT       NOT NULL REFERENCES users(id),
+    file_name       VARCHAR(255) NOT NULL,
+    total_size      BIGINT       NOT NULL,
+    received_bytes  BIGINT       NOT NULL DEFAULT 0,
+    partial_path    VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires_at ON upload_sessions (expires_at);
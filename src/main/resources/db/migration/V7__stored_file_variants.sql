@@ -0,0 +1,8 @@
+/* Miniaturas de imágenes; cada una apunta a su propio registro en stored_files */
+CREATE TABLE IF NOT EXISTS stored_file_variants (
+    id               BIGSERIAL PRIMARY KEY,
+    source_file_id   BIGINT  NOT NULL,
+    width            INTEGER NOT NULL,
+    variant_file_id  BIGINT  NOT NULL,
+    CONSTRAINT uk_stored_file_variants_source_width UNIQUE (source_file_id, width)
+);
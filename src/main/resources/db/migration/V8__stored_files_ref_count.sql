@@ -0,0 +1,5 @@
+/* Deduplicación por dueño + hash con contador de referencias */
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS owner_id  BIGINT;
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS ref_count INTEGER NOT NULL DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_stored_files_owner_hash ON stored_files (owner_id, content_hash);
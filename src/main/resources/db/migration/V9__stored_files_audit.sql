@@ -0,0 +1,3 @@
+/* Fechas de auditoría en stored_files: el recolector solo borra archivos más antiguos que el periodo de gracia */
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE stored_files ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,124 @@
+package com.influmatch.chat.application.service.impl;
+
+import com.influmatch.auth.domain.model.User;
+import com.influmatch.auth.domain.model.UserRole;
+import com.influmatch.auth.domain.model.valueobject.Email;
+import com.influmatch.auth.domain.model.valueobject.Password;
+import com.influmatch.auth.domain.repository.UserRepository;
+import com.influmatch.auth.infrastructure.security.CurrentUser;
+import com.influmatch.chat.application.service.ChatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thousands of parallel sends, including the very first message of each pair from both sides at once:
+ * there must be exactly one conversation per pair and no lost unread increments.
+ */
+@SpringBootTest
+class ChatServiceConcurrencyTest {
+    private static final int SENDERS = 4;
+    private static final int MESSAGES_PER_SENDER = 500;
+    private static final int REPLIES = 250;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelSendsKeepExactUnreadCounts() throws Exception {
+        User receiver = createUser(UserRole.BRAND);
+        List<User> senders = new ArrayList<>();
+        for (int i = 0; i < SENDERS; i++) {
+            senders.add(createUser(UserRole.INFLUENCER));
+        }
+        User firstSender = senders.get(0);
+
+        List<Callable<Void>> sends = new ArrayList<>();
+        for (User sender : senders) {
+            for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                sends.add(send(sender, receiver, "Hola " + i));
+            }
+        }
+        // The receiver answers one of them while it is still writing
+        for (int i = 0; i < REPLIES; i++) {
+            sends.add(send(receiver, firstSender, "Respuesta " + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            for (Future<Void> result : executor.invokeAll(sends)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (User sender : senders) {
+            assertThat(conversationCount(sender, receiver)).isEqualTo(1);
+            assertThat(unreadCount(receiver, sender)).isEqualTo(MESSAGES_PER_SENDER);
+        }
+        assertThat(unreadCount(firstSender, receiver)).isEqualTo(REPLIES);
+        assertThat(unreadCount(senders.get(1), receiver)).isZero();
+        assertThat(messageCount(firstSender, receiver)).isEqualTo(MESSAGES_PER_SENDER + REPLIES);
+    }
+
+    private Callable<Void> send(User sender, User receiver, String content) {
+        return () -> {
+            CurrentUser principal = new CurrentUser(sender.getId(), sender.getUsername(), sender.getPassword(),
+                    sender.getRole(), true, List.of(new SimpleGrantedAuthority("ROLE_" + sender.getRole().name())));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            try {
+                chatService.sendMessage(receiver.getId(), content, (MultipartFile) null);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+            return null;
+        };
+    }
+
+    private User createUser(UserRole role) {
+        Email email = new Email(UUID.randomUUID() + "@influmatch.test");
+        return userRepository.save(new User(email, new Password("hash"), role));
+    }
+
+    private int conversationCount(User a, User b) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM conversation WHERE user_low_id = LEAST(?, ?) AND user_high_id = GREATEST(?, ?)",
+                Integer.class, a.getId(), b.getId(), a.getId(), b.getId());
+    }
+
+    private int unreadCount(User user, User interlocutor) {
+        return jdbcTemplate.queryForObject(
+                "SELECT unread_count FROM chat WHERE user_id = ? AND interlocutor_id = ?",
+                Integer.class, user.getId(), interlocutor.getId());
+    }
+
+    private int messageCount(User a, User b) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM message m JOIN chat c ON c.conversation_id = m.chat_id " +
+                "WHERE c.user_id = ? AND c.interlocutor_id = ?",
+                Integer.class, a.getId(), b.getId());
+    }
+}
@@ -0,0 +1,53 @@
+package com.influmatch.chat.application.service.impl;
+
+import com.influmatch.chat.application.dto.SendMessageRequestDto;
+import com.influmatch.chat.application.service.MessageIngestion;
+import com.influmatch.chat.domain.model.exception.MessageIngestionOverloadedException;
+import com.influmatch.chat.domain.model.valueobject.AttachmentType;
+import com.influmatch.profile.application.service.FileStorageService;
+import com.influmatch.shared.infrastructure.security.SecurityUtils;
+import com.influmatch.shared.infrastructure.storage.StagedContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceImplTest {
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @Mock
+    private MessageIngestion messageIngestion;
+
+    @InjectMocks
+    private ChatServiceImpl chatService;
+
+    @Test
+    void rejectedMessageReleasesItsAttachment() {
+        StagedContent staged = mock(StagedContent.class);
+        SendMessageRequestDto request = new SendMessageRequestDto();
+        request.setContent("Hola");
+        request.setAttachmentBase64(staged);
+        request.setAttachmentType(AttachmentType.PHOTO);
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(fileStorageService.storeStaged(eq(staged), any())).thenReturn("42");
+        when(messageIngestion.ingest(any())).thenThrow(new MessageIngestionOverloadedException("full"));
+
+        assertThatThrownBy(() -> chatService.sendMessage(2L, request))
+                .isInstanceOf(MessageIngestionOverloadedException.class);
+        verify(fileStorageService).release("42");
+    }
+}
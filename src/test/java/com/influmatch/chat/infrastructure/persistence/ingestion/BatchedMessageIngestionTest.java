@@ -0,0 +1,62 @@
+package com.influmatch.chat.infrastructure.persistence.ingestion;
+
+import com.influmatch.chat.domain.model.entity.Message;
+import com.influmatch.chat.domain.model.exception.MessageIngestionOverloadedException;
+import com.influmatch.chat.domain.model.repository.ChatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchedMessageIngestionTest {
+    private static final Duration ACK_TIMEOUT = Duration.ofMillis(200);
+
+    private final ChatRepository chatRepository = mock(ChatRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BatchedMessageIngestion ingestion;
+
+    @BeforeEach
+    void setUp() {
+        ingestion = new BatchedMessageIngestion(chatRepository, mock(JdbcTemplate.class), transactionManager,
+                mock(ApplicationEventPublisher.class), 10, 10, Duration.ofMillis(1), ACK_TIMEOUT);
+        ingestion.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        ingestion.stop();
+    }
+
+    @Test
+    void stuckBatchAnswersOverloadedAfterTheAckTimeout() {
+        // The writer takes the message into a batch and then hangs on the database
+        when(chatRepository.findOrCreateChat(anyLong(), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            throw new IllegalStateException("released");
+        });
+        Message message = Message.builder().senderId(1L).receiverId(2L).content("Hola").createdAt(Instant.now()).build();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> ingestion.ingest(message))
+                .isInstanceOf(MessageIngestionOverloadedException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(ACK_TIMEOUT.multipliedBy(5));
+        verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+    }
+}
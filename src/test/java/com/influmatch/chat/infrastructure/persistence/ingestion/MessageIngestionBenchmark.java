@@ -0,0 +1,103 @@
+package com.influmatch.chat.infrastructure.persistence.ingestion;
+
+import com.influmatch.InfluMatchBackEndApplication;
+import com.influmatch.chat.application.service.MessageIngestion;
+import com.influmatch.chat.domain.model.entity.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of sending a message, one transaction per message against group commit.
+ * Models a campaign launch: a few brands each writing to many influencers at the same time.
+ * <p>
+ * Not part of mvn test; run main() from the IDE or with the test classpath. Needs a Postgres with the
+ * migrations applied, configured with bench.db.url / bench.db.user / bench.db.password. Throughput gives
+ * messages per second; SampleTime gives the latency percentiles a sender sees until the commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class MessageIngestionBenchmark {
+    // Far above real user ids, so the rows can be told apart and removed afterwards
+    private static final long FIRST_USER_ID = 900_000_000L;
+    private static final int BRANDS = 4;
+    private static final int INFLUENCERS = 200;
+
+    @Param({"direct", "batched"})
+    private String mode;
+
+    // Only used by batched
+    @Param({"0ms", "5ms"})
+    private String flushInterval;
+
+    private ConfigurableApplicationContext context;
+    private MessageIngestion ingestion;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/influ_match");
+        context = new SpringApplicationBuilder(InfluMatchBackEndApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + System.getProperty("bench.db.user", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("bench.db.password", "secret123"),
+                        "application.chat.relay.type=local",
+                        "application.chat.ingestion.mode=" + mode,
+                        "application.chat.ingestion.flush-interval=" + flushInterval)
+                .run();
+        ingestion = context.getBean(MessageIngestion.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM message WHERE sender_id >= ?", FIRST_USER_ID);
+        jdbcTemplate.update("DELETE FROM chat WHERE user_id >= ?", FIRST_USER_ID);
+        jdbcTemplate.update("DELETE FROM conversation WHERE user_low_id >= ?", FIRST_USER_ID);
+        context.close();
+    }
+
+    @Benchmark
+    public Message send() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return ingestion.ingest(Message.builder()
+                .senderId(FIRST_USER_ID + random.nextInt(BRANDS))
+                .receiverId(FIRST_USER_ID + BRANDS + random.nextInt(INFLUENCERS))
+                .content("Hola, nos encantaría colaborar contigo en nuestra próxima campaña")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageIngestionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
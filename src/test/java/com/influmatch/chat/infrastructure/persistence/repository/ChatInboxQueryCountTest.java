@@ -0,0 +1,96 @@
+package com.influmatch.chat.infrastructure.persistence.repository;
+
+import com.influmatch.auth.domain.model.User;
+import com.influmatch.auth.domain.model.UserRole;
+import com.influmatch.auth.domain.model.valueobject.Email;
+import com.influmatch.auth.domain.model.valueobject.Password;
+import com.influmatch.auth.domain.repository.UserRepository;
+import com.influmatch.chat.domain.model.repository.ChatRepository;
+import com.influmatch.chat.domain.model.valueobject.InboxEntry;
+import com.influmatch.profile.domain.model.entity.BrandProfile;
+import com.influmatch.profile.domain.model.entity.InfluencerProfile;
+import com.influmatch.profile.domain.model.valueobject.Country;
+import com.influmatch.profile.domain.repository.BrandProfileRepository;
+import com.influmatch.profile.domain.repository.InfluencerProfileRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the inbox read path to a single SQL statement, however many chats the user has.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ChatInboxQueryCountTest {
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private JpaChatRepository jpaChatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BrandProfileRepository brandProfileRepository;
+
+    @Autowired
+    private InfluencerProfileRepository influencerProfileRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void inboxIsLoadedWithOneStatement() {
+        Long ownerId = createUser(UserRole.INFLUENCER);
+        for (int i = 0; i < 10; i++) {
+            Long brandId = createUser(UserRole.BRAND);
+            brandProfileRepository.save(new BrandProfile("Brand " + i, "Tech", new Country("PE"), "Brand", brandId));
+            createChat(ownerId, brandId, i);
+        }
+        Long influencerId = createUser(UserRole.INFLUENCER);
+        influencerProfileRepository.save(new InfluencerProfile("Creator", Set.of("fitness"), "Bio",
+                new Country("PE"), 1000, influencerId));
+        createChat(ownerId, influencerId, 10);
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<InboxEntry> inbox = chatRepository.findInboxByUserId(ownerId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(inbox).hasSize(11);
+        assertThat(inbox.get(0).getInterlocutorName()).isEqualTo("Creator");
+        assertThat(inbox.get(0).getInterlocutorRole()).isEqualTo(UserRole.INFLUENCER);
+        assertThat(inbox).filteredOn(entry -> entry.getInterlocutorRole() == UserRole.BRAND).hasSize(10);
+    }
+
+    private Long createUser(UserRole role) {
+        Email email = new Email(UUID.randomUUID() + "@influmatch.test");
+        return userRepository.save(new User(email, new Password("hash"), role)).getId();
+    }
+
+    private void createChat(Long userId, Long interlocutorId, int position) {
+        Long chatId = chatRepository.findOrCreateChat(userId, interlocutorId).getChatId();
+        jpaChatRepository.updateLastMessage(chatId, (long) position + 1, "Hola",
+                Instant.now().minusSeconds(60L * (10 - position)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.influmatch.auth.application.service.JwtService;
+import com.influmatch.auth.infrastructure.config.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JwtStompInterceptorTest {
+    private final JwtStompInterceptor interceptor =
+            new JwtStompInterceptor(mock(JwtService.class), mock(UserDetailsServiceImpl.class));
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final Principal attacker = () -> "1";
+
+    @Test
+    void forgedSendToAnotherUsersQueueIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SEND, "/user/2/queue/messages"), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SEND, "/user/2/queue/chats"), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void sendToApplicationDestinationIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SEND, "/app/anything"), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void subscriptionOutsideUserQueuesIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/queue/messages-user2"), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void subscriptionToOwnQueueIsAllowed() {
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/user/queue/messages");
+        assertThat(interceptor.preSend(subscribe, channel)).isSameAs(subscribe);
+    }
+
+    private Message<byte[]> frame(StompCommand command, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(attacker);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,120 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The LISTEN loop against scripted connections: it has to come back after a failed connect, a connection
+ * that errors while listening and a connection that silently stops answering.
+ */
+class PgNotifyChatPushRelayReconnectTest {
+    private final LocalChatDelivery delivery = mock(LocalChatDelivery.class);
+    private Thread listener;
+    private PgNotifyChatPushRelay relay;
+
+    @AfterEach
+    void stopListener() throws InterruptedException {
+        if (relay != null) {
+            ReflectionTestUtils.setField(relay, "running", false);
+        }
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(5000);
+        }
+    }
+
+    @Test
+    void listenerReconnectsAfterConnectFailureAndLostConnection() throws Exception {
+        Connection dropping = connection(notification("first"), null);
+        Connection healthy = connection(notification("second"));
+        AtomicInteger attempts = new AtomicInteger();
+        start(() -> switch (attempts.incrementAndGet()) {
+            case 1 -> throw new SQLException("Connection refused");
+            case 2 -> dropping;
+            default -> healthy;
+        }, Duration.ofSeconds(30));
+
+        verify(delivery, timeout(5000)).deliver(eq(1L), eq(List.of(push("first"))));
+        verify(delivery, timeout(5000)).deliver(eq(1L), eq(List.of(push("second"))));
+    }
+
+    @Test
+    void silentDeadConnectionIsReplaced() throws Exception {
+        Connection dead = connection();
+        when(dead.isValid(anyInt())).thenReturn(false);
+        Connection healthy = connection(notification("after keepalive"));
+        AtomicInteger attempts = new AtomicInteger();
+        start(() -> attempts.incrementAndGet() == 1 ? dead : healthy, Duration.ZERO);
+
+        verify(delivery, timeout(5000)).deliver(eq(1L), eq(List.of(push("after keepalive"))));
+        verify(dead, atLeast(1)).close();
+    }
+
+    private void start(PgNotifyChatPushRelay.ListenConnector connector, Duration keepaliveInterval) {
+        when(delivery.isConnected(1L)).thenReturn(true);
+        relay = new PgNotifyChatPushRelay(mock(JdbcTemplate.class), new ObjectMapper(), delivery, connector);
+        ReflectionTestUtils.setField(relay, "channel", "chat_events");
+        ReflectionTestUtils.setField(relay, "reconnectDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(relay, "keepaliveInterval", keepaliveInterval);
+        ReflectionTestUtils.setField(relay, "running", true);
+        listener = new Thread(relay::listen, "chat-relay-listen-test");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * A connection that returns the given notifications one poll at a time. A null entry makes that poll
+     * fail as a dropped connection would; once the script is over it keeps returning nothing.
+     */
+    private Connection connection(PGNotification... script) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        AtomicInteger poll = new AtomicInteger();
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            int index = poll.getAndIncrement();
+            if (index >= script.length) {
+                Thread.sleep(5);
+                return new PGNotification[0];
+            }
+            if (script[index] == null) {
+                throw new SQLException("An I/O error occurred while sending to the backend");
+            }
+            return new PGNotification[]{script[index]};
+        });
+        return connection;
+    }
+
+    private PGNotification notification(String text) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(
+                "{\"userId\":1,\"pushes\":[{\"destination\":\"/queue/messages\",\"payload\":{\"text\":\"" + text + "\"}}]}");
+        return notification;
+    }
+
+    private ChatPush push(String text) {
+        return new ChatPush("/queue/messages", new ObjectMapper().createObjectNode().put("text", text));
+    }
+}
@@ -0,0 +1,55 @@
+package com.influmatch.chat.infrastructure.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Round trip through NOTIFY on the local Postgres the other tests use: this node is both the sender
+ * and the listener, and the sessions are replaced by a mock.
+ */
+@SpringBootTest(properties = "application.chat.relay.type=postgres")
+class PgNotifyChatPushRelayTest {
+    private static final long USER_ID = 900_000_001L;
+
+    @Autowired
+    private ChatPushRelay relay;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private LocalChatDelivery delivery;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pushesReachTheListenerIncludingOnesTooLargeForNotify() {
+        assertThat(relay).isInstanceOf(PgNotifyChatPushRelay.class);
+        when(delivery.isConnected(USER_ID)).thenReturn(true);
+        String longText = "x".repeat(20_000);
+
+        relay.publish(USER_ID, new ChatPush("/queue/chats", Map.of("chatId", 7)));
+        relay.publish(USER_ID, new ChatPush("/queue/messages", Map.of("content", longText)));
+
+        ArgumentCaptor<List<ChatPush>> delivered = ArgumentCaptor.forClass(List.class);
+        verify(delivery, timeout(10_000)).deliver(eq(USER_ID), delivered.capture());
+        List<ChatPush> pushes = delivered.getValue();
+        assertThat(pushes).extracting(ChatPush::destination).containsExactly("/queue/chats", "/queue/messages");
+        // The large one travelled through chat_relay_spill and arrives whole
+        assertThat(((JsonNode) pushes.get(1).payload()).path("content").asText()).isEqualTo(longText);
+        assertThat(objectMapper.valueToTree(pushes.get(0).payload()).path("chatId").asInt()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,137 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latencia de escritura y lectura por backend de blobs. No forma parte de mvn test; se ejecuta con main()
+ * desde el IDE o con el classpath de test. Para memoria, añadir el profiler GC (-prof gc).
+ * <p>
+ * database y s3 necesitan servicios levantados y se configuran con propiedades de sistema:
+ * bench.db.url / bench.db.user / bench.db.password (con la migración V10 aplicada) y
+ * bench.s3.endpoint / bench.s3.bucket / bench.s3.access-key / bench.s3.secret-key (p. ej. MinIO en local).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlobBackendBenchmark {
+
+    @Param({"local", "database", "s3"})
+    private String backendName;
+
+    // 64 KB ~ avatar, 4 MB ~ documento o video corto
+    @Param({"65536", "4194304"})
+    private int size;
+
+    private Path root;
+    private BlobBackend backend;
+    private byte[] payload;
+    private String readKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("blob-bench");
+        Files.createDirectories(root.resolve("tmp"));
+        backend = switch (backendName) {
+            case "local" -> new LocalBlobBackend(root.toString());
+            case "database" -> new DatabaseBlobBackend(new JdbcTemplate(new DriverManagerDataSource(
+                    System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/influ_match"),
+                    System.getProperty("bench.db.user", "postgres"),
+                    System.getProperty("bench.db.password", "secret123"))));
+            case "s3" -> new S3BlobBackend(
+                    System.getProperty("bench.s3.endpoint", "http://localhost:9000"),
+                    System.getProperty("bench.s3.region", "us-east-1"),
+                    System.getProperty("bench.s3.bucket", "influmatch-bench"),
+                    System.getProperty("bench.s3.access-key", "minioadmin"),
+                    System.getProperty("bench.s3.secret-key", "minioadmin"));
+            default -> throw new IllegalArgumentException("Unknown backend " + backendName);
+        };
+        payload = new byte[size];
+        ThreadLocalRandom.current().nextBytes(payload);
+        readKey = randomKey();
+        backend.write(readKey, payload);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        backend.delete(readKey);
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void writeBytes() {
+        String key = randomKey();
+        backend.write(key, payload);
+        backend.delete(key);
+    }
+
+    @Benchmark
+    public void writeStagedFile() throws IOException {
+        // Camino de las subidas multipart: el contenido ya está en disco
+        Path staged = Files.createTempFile(root.resolve("tmp"), "bench-", ".part");
+        Files.write(staged, payload);
+        String key = randomKey();
+        backend.write(key, staged, size);
+        backend.delete(key);
+    }
+
+    @Benchmark
+    public void readFully(Blackhole blackhole) {
+        ByteBuffer content = backend.read(readKey);
+        blackhole.consume(content.get(content.limit() - 1));
+    }
+
+    @Benchmark
+    public void readRange(Blackhole blackhole) throws IOException {
+        // Primer MB, como la petición Range inicial de un reproductor de video
+        try (InputStream in = backend.open(readKey, 0, Math.min(size, 1 << 20))) {
+            blackhole.consume(in.transferTo(OutputStream.nullOutputStream()));
+        }
+    }
+
+    private static String randomKey() {
+        String hash = HexFormat.of().formatHex(UUID.randomUUID().toString().getBytes()).substring(0, 64);
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlobBackendBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCodecTest {
+
+    @Test
+    void gzipIsAcceptedWhenListedOrCoveredByWildcard() {
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip, deflate, br")).isTrue();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("GZIP;q=0.5")).isTrue();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("br, *")).isTrue();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip ; q = 1.000")).isTrue();
+    }
+
+    @Test
+    void gzipIsRefusedWhenMissingOrWeightedZero() {
+        assertThat(ContentCodec.GZIP.isAcceptedBy(null)).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("identity")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=0")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=0.000")).isFalse();
+        // La entrada explícita manda sobre el comodín, en cualquier orden
+        assertThat(ContentCodec.GZIP.isAcceptedBy("*, gzip;q=0")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=0.1, *;q=0")).isTrue();
+    }
+
+    @Test
+    void malformedWeightsAreNotAcceptable() {
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=0.0000")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=0e0")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=abc")).isFalse();
+        assertThat(ContentCodec.GZIP.isAcceptedBy("gzip;q=1.5")).isFalse();
+    }
+
+    @Test
+    void identityIsAlwaysAcceptable() {
+        assertThat(ContentCodec.IDENTITY.isAcceptedBy(null)).isTrue();
+    }
+}
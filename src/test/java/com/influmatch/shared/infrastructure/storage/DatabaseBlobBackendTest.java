@@ -0,0 +1,37 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lecturas parciales contra Postgres: el desplazamiento y la longitud tienen que llegar como int a substring.
+ */
+@SpringBootTest(properties = "application.storage.backend=database")
+@Transactional
+class DatabaseBlobBackendTest {
+
+    @Autowired
+    private DatabaseBlobBackend backend;
+
+    @Test
+    void rangeReadReturnsTheRequestedBytes() throws Exception {
+        String key = "test/" + UUID.randomUUID();
+        backend.write(key, "0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+
+        try (InputStream in = backend.open(key, 4, 6)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("456789");
+        }
+        // Un rango que pasa del final se corta en el último byte
+        try (InputStream in = backend.open(key, 12, 100)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.US_ASCII)).isEqualTo("cdef");
+        }
+    }
+}
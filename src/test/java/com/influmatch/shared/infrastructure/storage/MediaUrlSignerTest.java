@@ -0,0 +1,105 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MediaUrlSignerTest {
+    private static final String HASH = "3fa9c1d2e3f4a5b6c7d8e9f0a1b2c3d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final MediaUrlSigner signer = signerAt(NOW);
+
+    @Test
+    void signedUrlVerifies() {
+        SignedUrl url = sign(ContentCodec.GZIP);
+
+        Optional<MediaUrlSigner.SignedMedia> media = signerAt(NOW).verify(url.name(), url.len(), url.exp(), url.sig());
+
+        assertThat(media).hasValueSatisfying(verified -> {
+            assertThat(verified.key()).isEqualTo(BlobStore.keyFor(HASH, ContentCodec.GZIP));
+            assertThat(verified.fileName()).isEqualTo(HASH + ".pdf");
+            assertThat(verified.codec()).isEqualTo(ContentCodec.GZIP);
+            assertThat(verified.storedSize()).isEqualTo(1234);
+        });
+    }
+
+    @Test
+    void expiredUrlIsRejected() {
+        SignedUrl url = sign(ContentCodec.IDENTITY);
+        Instant afterExpiry = Instant.ofEpochSecond(Long.parseLong(url.exp()) + 1);
+
+        assertThat(signerAt(afterExpiry).verify(url.name(), url.len(), url.exp(), url.sig())).isEmpty();
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        SignedUrl url = sign(ContentCodec.IDENTITY);
+        String tampered = (url.sig().charAt(0) == 'A' ? "B" : "A") + url.sig().substring(1);
+
+        assertThat(signer.verify(url.name(), url.len(), url.exp(), tampered)).isEmpty();
+    }
+
+    @Test
+    void signatureDoesNotCoverOtherPathsOrParameters() {
+        SignedUrl url = sign(ContentCodec.IDENTITY);
+        String otherHash = "0" + HASH.substring(1);
+
+        assertThat(signer.verify(otherHash + ".pdf", url.len(), url.exp(), url.sig())).isEmpty();
+        // Mismo hash con otra extensión o pidiendo la versión comprimida
+        assertThat(signer.verify(HASH + ".png", url.len(), url.exp(), url.sig())).isEmpty();
+        assertThat(signer.verify(HASH + ".pdf.gz", url.len(), url.exp(), url.sig())).isEmpty();
+        assertThat(signer.verify(url.name(), "99999", url.exp(), url.sig())).isEmpty();
+        assertThat(signer.verify(url.name(), url.len(), String.valueOf(Long.parseLong(url.exp()) + 3600), url.sig()))
+                .isEmpty();
+    }
+
+    @Test
+    void urlFromAnotherSecretIsRejected() {
+        SignedUrl url = sign(ContentCodec.IDENTITY);
+        MediaUrlSigner other = new MediaUrlSigner("another-secret", TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(other.verify(url.name(), url.len(), url.exp(), url.sig())).isEmpty();
+    }
+
+    @Test
+    void blankSecretOnlyStartsOnSingleNodeProfiles() {
+        assertThat(MediaUrlSigner.requireSharedSecret("", new MockEnvironment())).isEmpty();
+        MockEnvironment test = new MockEnvironment();
+        test.setActiveProfiles("test");
+        assertThat(MediaUrlSigner.requireSharedSecret(null, test)).isNull();
+
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+        assertThatThrownBy(() -> MediaUrlSigner.requireSharedSecret(" ", prod))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(MediaUrlSigner.requireSharedSecret("shared", prod)).isEqualTo("shared");
+    }
+
+    private SignedUrl sign(ContentCodec codec) {
+        String path = signer.sign(BlobStore.keyFor(HASH, codec), HASH, "contrato.pdf", codec, 1234).orElseThrow();
+        String name = path.substring(MediaUrlSigner.PATH_PREFIX.length(), path.indexOf('?'));
+        String[] query = path.substring(path.indexOf('?') + 1).split("&");
+        return new SignedUrl(name, value(query[0]), value(query[1]), value(query[2]));
+    }
+
+    private static String value(String parameter) {
+        return parameter.substring(parameter.indexOf('=') + 1);
+    }
+
+    private static MediaUrlSigner signerAt(Instant now) {
+        return new MediaUrlSigner("test-secret", TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private record SignedUrl(String name, String len, String exp, String sig) {
+    }
+}
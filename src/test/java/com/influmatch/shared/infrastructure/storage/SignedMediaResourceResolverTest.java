@@ -0,0 +1,108 @@
+package com.influmatch.shared.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.resource.HttpResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignedMediaResourceResolverTest {
+    private static final String HASH = "3fa9c1d2e3f4a5b6c7d8e9f0a1b2c3d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0";
+    private static final String KEY = BlobStore.keyFor(HASH, ContentCodec.GZIP);
+    private static final byte[] CONTENT = "{\"campaña\": \"verano\"}".repeat(50).getBytes(StandardCharsets.UTF_8);
+
+    private final MediaUrlSigner signer = new MediaUrlSigner("test-secret", Duration.ofHours(1), Clock.systemUTC());
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final SignedMediaResourceResolver resolver = new SignedMediaResourceResolver(signer, blobStore);
+    private final byte[] gzipped = gzip(CONTENT);
+
+    @Test
+    void clientAcceptingGzipGetsTheStoredBytes() throws Exception {
+        when(blobStore.exists(KEY)).thenReturn(true);
+        when(blobStore.open(KEY, 0, gzipped.length)).thenReturn(new ByteArrayInputStream(gzipped));
+
+        Resource resource = resolve("gzip, deflate, br");
+
+        HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        // Nunca más allá del exp de la firma (como mucho 2 * ttl)
+        assertThat(headers.getCacheControl()).startsWith("max-age=").contains("public", "immutable");
+        long maxAge = Long.parseLong(headers.getCacheControl().replaceAll("max-age=(\\d+).*", "$1"));
+        assertThat(maxAge).isPositive().isLessThanOrEqualTo(Duration.ofHours(2).toSeconds());
+        assertThat(resource.contentLength()).isEqualTo(gzipped.length);
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(gzipped);
+        }
+    }
+
+    @Test
+    void clientWithoutGzipGetsTheContentDecoded() throws Exception {
+        when(blobStore.exists(KEY)).thenReturn(true);
+        when(blobStore.open(KEY, gzipped.length - 4, 4))
+                .thenAnswer(invocation -> new ByteArrayInputStream(gzipped, gzipped.length - 4, 4));
+        when(blobStore.open(eq(KEY), eq(ContentCodec.GZIP), eq((long) gzipped.length), eq(0L), anyLong()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(CONTENT));
+
+        for (String acceptEncoding : new String[]{null, "identity", "gzip;q=0, deflate"}) {
+            Resource resource = resolve(acceptEncoding);
+
+            HttpHeaders headers = ((HttpResource) resource).getResponseHeaders();
+            assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(headers.getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+            assertThat(resource.isFile()).isFalse();
+            assertThat(SignedMediaResourceResolver.etag(resource)).isEqualTo("\"" + HASH + ".json\"");
+            try (InputStream in = resource.getInputStream()) {
+                assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+            }
+        }
+    }
+
+    @Test
+    void missingBlobResolvesToNothing() {
+        when(blobStore.exists(KEY)).thenReturn(false);
+
+        assertThat(resolve("gzip")).isNull();
+    }
+
+    private Resource resolve(String acceptEncoding) {
+        String path = signer.sign(KEY, HASH, "brief.json", ContentCodec.GZIP, gzipped.length).orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString(path.substring(path.indexOf('?') + 1));
+        for (String parameter : request.getQueryString().split("&")) {
+            request.addParameter(parameter.substring(0, parameter.indexOf('=')), parameter.substring(parameter.indexOf('=') + 1));
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        String name = path.substring(MediaUrlSigner.PATH_PREFIX.length(), path.indexOf('?'));
+        return resolver.resolveResource(request, name, List.of(), null);
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+}